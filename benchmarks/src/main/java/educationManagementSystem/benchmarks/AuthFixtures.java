@@ -0,0 +1,181 @@
+package educationManagementSystem.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.Role;
+import educationManagementSystem.model.User;
+import educationManagementSystem.repository.UserPrincipalView;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.security.jwt.AuthTokenFilter;
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.JwtKeyRing;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.jwt.VerifiedTokenCache;
+import educationManagementSystem.security.services.CachedUserDetailsService;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import educationManagementSystem.security.services.UserDetailsServiceImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Wires the authentication components the way Spring does, but over an in-memory
+ * {@link UserRepository}, so benchmarks measure our code rather than a database.
+ */
+public class AuthFixtures {
+
+    public static final String SECRET =
+            "aGFiYXRvb1NlY3JldEtleWhhYmF0b29TZWNyZXRLZXloYWJhdG9vU2VjcmV0S2V5aGFiYXRvb1NlY3JldEtleQ==";
+
+    public final Map<String, User> users = new ConcurrentHashMap<>();
+
+    public final UserRepository userRepository = inMemoryRepository(users);
+
+    public final JwtKeyRing jwtKeyRing = new JwtKeyRing();
+
+    public final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+
+    public final SecurityVersionRegistry securityVersionRegistry = new SecurityVersionRegistry();
+
+    public final JwtFailureStats jwtFailureStats = new JwtFailureStats();
+
+    public final JwtUtils jwtUtils = new JwtUtils();
+
+    public final TokenDenylist tokenDenylist = new TokenDenylist();
+
+    public final UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+
+    public final CachedUserDetailsService cachedUserDetailsService = new CachedUserDetailsService();
+
+    public final AuthTokenFilter authTokenFilter = new AuthTokenFilter();
+
+    public AuthFixtures() {
+        ReflectionTestUtils.setField(jwtKeyRing, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtKeyRing, "jwtKeyId", "primary");
+        ReflectionTestUtils.setField(jwtKeyRing, "jwtRetiredKeys", "");
+        jwtKeyRing.init();
+
+        ReflectionTestUtils.setField(verifiedTokenCache, "maximumSize", 10000L);
+        verifiedTokenCache.init();
+
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtKeyRing", jwtKeyRing);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(jwtUtils, "securityVersionRegistry", securityVersionRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "jwtFailureStats", jwtFailureStats);
+
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+
+        ReflectionTestUtils.setField(cachedUserDetailsService, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(cachedUserDetailsService, "maximumSize", 10000L);
+        ReflectionTestUtils.setField(cachedUserDetailsService, "ttlSeconds", 300L);
+        cachedUserDetailsService.init();
+
+        ReflectionTestUtils.setField(tokenDenylist, "windowMs", 3600000L);
+        ReflectionTestUtils.setField(tokenDenylist, "expectedEntries", 100000L);
+        ReflectionTestUtils.setField(tokenDenylist, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(tokenDenylist, "maxEntries", 1000000L);
+        tokenDenylist.init();
+
+        ReflectionTestUtils.setField(authTokenFilter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(authTokenFilter, "tokenDenylist", tokenDenylist);
+        ReflectionTestUtils.setField(authTokenFilter, "jwtFailureStats", jwtFailureStats);
+        ReflectionTestUtils.setField(authTokenFilter, "userDetailsService", cachedUserDetailsService);
+        ReflectionTestUtils.setField(authTokenFilter, "skipPaths", new String[]{"/api/auth/login", "/api/auth/register", "/api/auth/refresh", "/api/test/all"});
+        ReflectionTestUtils.setField(authTokenFilter, "meterRegistry", new SimpleMeterRegistry());
+        authTokenFilter.initMetrics();
+    }
+
+    public User addUser(long id, String username, ERole... roleNames) {
+        Set<Role> roles = new HashSet<>();
+        for (ERole roleName : roleNames) {
+            Role role = new Role(roleName);
+            role.setId(roleName.ordinal() + 1);
+            roles.add(role);
+        }
+
+        User user = new User(username, username + "@school.edu", "{bcrypt}$2a$10$unused");
+        user.setId(id);
+        user.setRoles(roles);
+        users.put(username, user);
+        return user;
+    }
+
+    public String tokenFor(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static List<UserPrincipalView> principalRows(User user) {
+        if (user == null) {
+            return Collections.emptyList();
+        }
+        return user.getRoles().stream()
+                .map(role -> new UserPrincipalView() {
+                    @Override
+                    public Long getId() {
+                        return user.getId();
+                    }
+
+                    @Override
+                    public String getUsername() {
+                        return user.getUsername();
+                    }
+
+                    @Override
+                    public String getEmail() {
+                        return user.getEmail();
+                    }
+
+                    @Override
+                    public String getPassword() {
+                        return user.getPassword();
+                    }
+
+                    @Override
+                    public ERole getRole() {
+                        return role.getName();
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static UserRepository inMemoryRepository(Map<String, User> users) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByUsername":
+                            return Optional.ofNullable(users.get((String) args[0]));
+                        case "findPrincipalByUsername":
+                            return principalRows(users.get((String) args[0]));
+                        case "existsByUsername":
+                            return users.containsKey((String) args[0]);
+                        case "findAll":
+                            return Collections.unmodifiableList(new java.util.ArrayList<>(users.values()));
+                        case "toString":
+                            return "InMemoryUserRepository";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package educationManagementSystem.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletException;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The whole {@code AuthTokenFilter.doFilterInternal} path for one authenticated request.
+ * <ul>
+ *     <li>{@code claims} - principal built from token claims, the steady state</li>
+ *     <li>{@code cache} - outdated security version, principal served by the UserDetails cache</li>
+ *     <li>{@code repository} - outdated security version and cold cache, principal loaded from the repository</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    @Param({"claims", "cache", "repository"})
+    public String principalSource;
+
+    private AuthFixtures fixtures;
+
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        fixtures = new AuthFixtures();
+        User user = fixtures.addUser(1L, "student", ERole.ROLE_USER);
+        authorization = "Bearer " + fixtures.tokenFor(user);
+        if (!"claims".equals(principalSource)) {
+            fixtures.securityVersionRegistry.bump(user.getId());
+        }
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws IOException, ServletException {
+        if ("repository".equals(principalSource)) {
+            fixtures.cachedUserDetailsService.invalidate("student");
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test/user");
+        request.setServletPath("/api/test/user");
+        request.addHeader("Authorization", authorization);
+
+        fixtures.authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
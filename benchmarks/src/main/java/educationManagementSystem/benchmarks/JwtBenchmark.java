@@ -0,0 +1,76 @@
+package educationManagementSystem.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.User;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import io.jsonwebtoken.Claims;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private AuthFixtures fixtures;
+
+    private Authentication authentication;
+
+    private String token;
+
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        fixtures = new AuthFixtures();
+        User user = fixtures.addUser(1L, "student", ERole.ROLE_USER, ERole.ROLE_TEACHER);
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = fixtures.jwtUtils.generateJwtToken(authentication);
+        expiredToken = token.substring(0, token.indexOf('.') + 1)
+                + "eyJzdWIiOiJzdHVkZW50IiwiZXhwIjoxfQ"
+                + token.substring(token.lastIndexOf('.'));
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return fixtures.jwtUtils.generateJwtToken(authentication);
+    }
+
+    /**
+     * Steady state: the token was verified before and is served from the verified-token cache.
+     */
+    @Benchmark
+    public boolean validateJwtToken() {
+        return fixtures.jwtUtils.validateJwtToken(token);
+    }
+
+    /**
+     * First sight of a token: full HS512 verification with the shared parser.
+     */
+    @Benchmark
+    public Claims verifySignature() {
+        return fixtures.jwtKeyRing.getParser().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public boolean rejectExpiredToken() {
+        return fixtures.jwtUtils.validateJwtToken(expiredToken);
+    }
+}
@@ -0,0 +1,279 @@
+package educationManagementSystem.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the servlet and the reactive deployment with the same closed-loop workload and
+ * reports throughput, latency and what each one needed on the server side to sustain it:
+ * live JVM threads and busy database connections, sampled from {@code /actuator/prometheus}.
+ * Both applications must already be running against the same database.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar educationManagementSystem.benchmarks.ModeComparison \
+ *     servlet=http://localhost:8080 reactive=http://localhost:8081 \
+ *     concurrency=16,64,256 seconds=20 users=50 refreshPercent=20
+ * </pre>
+ */
+public class ModeComparison {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    // servlet pool: Hikari, reactive pool: r2dbc-pool; whichever is absent reads as zero
+    private static final String[] SAMPLED_METRICS = {
+            "jvm_threads_live_threads",
+            "hikaricp_connections_active",
+            "r2dbc_pool_acquired_connections"
+    };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+
+        Map<String, String> modes = new LinkedHashMap<>();
+        modes.put("servlet", options.getOrDefault("servlet", "http://localhost:8080"));
+        modes.put("reactive", options.getOrDefault("reactive", "http://localhost:8081"));
+        int[] concurrencyLevels = Arrays.stream(options.getOrDefault("concurrency", "16,64,256").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int refreshPercent = Integer.parseInt(options.getOrDefault("refreshPercent", "20"));
+
+        // the JDK client keeps only 5 idle connections per host by default
+        int maxConcurrency = Arrays.stream(concurrencyLevels).max().orElse(1);
+        System.setProperty("http.maxConnections", String.valueOf(maxConcurrency));
+
+        System.out.printf("%-8s %11s %10s %9s %9s %9s %8s %12s%n",
+                "mode", "concurrency", "req/s", "p50 ms", "p99 ms", "errors", "threads", "db conns");
+        for (int concurrency : concurrencyLevels) {
+            for (Map.Entry<String, String> mode : modes.entrySet()) {
+                Result result = run(mode.getValue(), concurrency, seconds, users, refreshPercent);
+                System.out.printf("%-8s %11d %10.1f %9.2f %9.2f %9d %8.0f %12.0f%n",
+                        mode.getKey(), concurrency, result.throughput, result.p50Ms, result.p99Ms, result.errors,
+                        result.peak.get("jvm_threads_live_threads"),
+                        result.peak.get("hikaricp_connections_active")
+                                + result.peak.get("r2dbc_pool_acquired_connections"));
+            }
+        }
+    }
+
+    private static Result run(String baseUrl, int concurrency, int seconds, int users, int refreshPercent)
+            throws InterruptedException {
+        for (int i = 0; i < users; i++) {
+            String username = "mode" + i;
+            post(baseUrl + "/api/auth/register", null, "{\"username\":\"" + username + "\",\"email\":\""
+                    + username + "@bench.local\",\"password\":\"password\",\"role\":[\"user\"]}");
+        }
+
+        Map<String, Double> peak = new ConcurrentHashMap<>();
+        for (String metric : SAMPLED_METRICS) {
+            peak.put(metric, 0d);
+        }
+        AtomicLong errors = new AtomicLong();
+        List<Samples> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int w = 0; w < concurrency; w++) {
+            Samples samples = new Samples();
+            latencies.add(samples);
+            String username = "mode" + (w % users);
+            Thread worker = new Thread(() -> {
+                try {
+                    work(baseUrl, username, refreshPercent, deadline, samples, errors);
+                } finally {
+                    done.countDown();
+                }
+            }, "mode-worker-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        while (done.getCount() > 0) {
+            sample(baseUrl, peak);
+            done.await(500, TimeUnit.MILLISECONDS);
+        }
+
+        long[] merged = latencies.stream().flatMapToLong(samples -> Arrays.stream(samples.values, 0, samples.size))
+                .sorted()
+                .toArray();
+        Result result = new Result();
+        result.throughput = merged.length / (double) seconds;
+        result.p50Ms = percentile(merged, 0.50);
+        result.p99Ms = percentile(merged, 0.99);
+        result.errors = errors.get();
+        result.peak = peak;
+        return result;
+    }
+
+    private static void work(String baseUrl, String username, int refreshPercent, long deadline,
+                             Samples samples, AtomicLong errors) {
+        String[] tokens = login(baseUrl, username);
+        if (tokens == null) {
+            errors.incrementAndGet();
+            return;
+        }
+
+        while (System.nanoTime() < deadline) {
+            boolean refresh = ThreadLocalRandom.current().nextInt(100) < refreshPercent;
+            long start = System.nanoTime();
+            Response response = refresh
+                    ? post(baseUrl + "/api/auth/refresh", null, "{\"refreshToken\":\"" + tokens[1] + "\"}")
+                    : get(baseUrl + "/api/test/user", tokens[0]);
+            samples.add(System.nanoTime() - start);
+
+            if (response.status != 200) {
+                errors.incrementAndGet();
+                if (refresh) {
+                    tokens = login(baseUrl, username);
+                    if (tokens == null) {
+                        return;
+                    }
+                }
+            } else if (refresh) {
+                tokens = new String[]{match(ACCESS_TOKEN, response.body), match(REFRESH_TOKEN, response.body)};
+            }
+        }
+    }
+
+    private static String[] login(String baseUrl, String username) {
+        Response response = post(baseUrl + "/api/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"password\"}");
+        if (response.status != 200) {
+            return null;
+        }
+        return new String[]{match(ACCESS_TOKEN, response.body), match(REFRESH_TOKEN, response.body)};
+    }
+
+    private static void sample(String baseUrl, Map<String, Double> peak) {
+        Response response = get(baseUrl + "/actuator/prometheus", null);
+        if (response.status != 200) {
+            return;
+        }
+        Map<String, Double> current = new LinkedHashMap<>();
+        for (String line : response.body.split("\n")) {
+            for (String metric : SAMPLED_METRICS) {
+                if (line.startsWith(metric + " ") || line.startsWith(metric + "{")) {
+                    double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                    current.merge(metric, value, Double::sum);
+                }
+            }
+        }
+        current.forEach((metric, value) -> peak.merge(metric, value, Math::max));
+    }
+
+    private static Response get(String url, String accessToken) {
+        return exchange("GET", url, accessToken, null);
+    }
+
+    private static Response post(String url, String accessToken, String json) {
+        return exchange("POST", url, accessToken, json);
+    }
+
+    private static Response exchange(String method, String url, String accessToken, String json) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod(method);
+            if (accessToken != null) {
+                connection.setRequestProperty("Authorization", "Bearer " + accessToken);
+            }
+            if (json != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(json.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            return new Response(status, read(in));
+        } catch (IOException e) {
+            return new Response(-1, "");
+        }
+    }
+
+    // reading the body to the end returns the connection to the keep-alive pool
+    private static String read(InputStream in) throws IOException {
+        if (in == null) {
+            return "";
+        }
+        try (InputStream body = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = body.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String match(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000d;
+    }
+
+    private static class Samples {
+        long[] values = new long[4096];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static class Result {
+        double throughput;
+        double p50Ms;
+        double p99Ms;
+        long errors;
+        Map<String, Double> peak;
+    }
+}
@@ -0,0 +1,56 @@
+package educationManagementSystem.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import educationManagementSystem.security.WebSecurityConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Password encoding and matching per BCrypt cost; throughput of {@code matches} is the
+ * login throughput of one core at that cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"10", "11", "12"})
+    public int strength;
+
+    private PasswordEncoder encoder;
+
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        WebSecurityConfig config = new WebSecurityConfig();
+        ReflectionTestUtils.setField(config, "passwordStrength", strength);
+        encoder = config.passwordEncoder();
+        encoded = encoder.encode("student-password");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("student-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("student-password", encoded);
+    }
+}
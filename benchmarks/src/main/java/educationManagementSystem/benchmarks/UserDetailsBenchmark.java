@@ -0,0 +1,49 @@
+package educationManagementSystem.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.User;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private User user;
+
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        AuthFixtures fixtures = new AuthFixtures();
+        user = fixtures.addUser(1L, "teacher", ERole.ROLE_USER, ERole.ROLE_TEACHER, ERole.ROLE_ADMIN);
+        claims = fixtures.jwtUtils.parseAndVerify(fixtures.tokenFor(user));
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildFromUser() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildFromClaims() {
+        return UserDetailsImpl.build(claims);
+    }
+}
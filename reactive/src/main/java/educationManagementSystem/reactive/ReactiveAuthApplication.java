@@ -0,0 +1,35 @@
+package educationManagementSystem.reactive;
+
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.JwtKeyRing;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.jwt.VerifiedTokenCache;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import educationManagementSystem.security.throttle.LoginThrottle;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive deployment of the authentication endpoints. Only this package is scanned; the
+ * token components of the servlet application are imported explicitly.
+ */
+@SpringBootApplication
+@Import({
+        JwtKeyRing.class,
+        VerifiedTokenCache.class,
+        SecurityVersionRegistry.class,
+        JwtFailureStats.class,
+        JwtUtils.class,
+        TokenDenylist.class,
+        LoginThrottle.class
+})
+public class ReactiveAuthApplication {
+
+	public static void main(String[] args) {
+
+		SpringApplication.run(ReactiveAuthApplication.class, args);
+	}
+
+}
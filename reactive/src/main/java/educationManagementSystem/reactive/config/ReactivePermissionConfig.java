@@ -0,0 +1,27 @@
+package educationManagementSystem.reactive.config;
+
+import educationManagementSystem.reactive.security.ReactivePermissionInterceptor;
+import educationManagementSystem.reactive.security.ReactivePermissionRegistry;
+import educationManagementSystem.security.permission.RequiresPermission;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+@Configuration
+public class ReactivePermissionConfig {
+    // Infrastructure role so that the auto-proxy creator registered for method security applies it
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor permissionAdvisor(ObjectProvider<ReactivePermissionRegistry> registryProvider) {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                new AnnotationMatchingPointcut(RequiresPermission.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(RequiresPermission.class));
+        return new DefaultPointcutAdvisor(pointcut, new ReactivePermissionInterceptor(registryProvider));
+    }
+}
@@ -0,0 +1,104 @@
+package educationManagementSystem.reactive.config;
+
+import educationManagementSystem.reactive.security.JwtAuthenticationWebFilter;
+import educationManagementSystem.reactive.security.ReactivePasswordHasher;
+import educationManagementSystem.security.PasswordEncoderFactory;
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Fixed BCrypt cost; 0 calibrates the cost against passwordHashTargetMs at startup
+    @Value("${habatoo.app.passwordStrength:0}")
+    private int passwordStrength;
+
+    @Value("${habatoo.app.passwordHashTargetMs:100}")
+    private long passwordHashTargetMs;
+
+    @Value("${habatoo.app.passwordMinStrength:10}")
+    private int passwordMinStrength;
+
+    @Value("${habatoo.app.passwordMaxStrength:14}")
+    private int passwordMaxStrength;
+
+    // 0 means one hashing thread per core
+    @Value("${habatoo.app.reactive.hashThreads:0}")
+    private int hashThreads;
+
+    @Value("${habatoo.app.reactive.hashQueueCapacity:64}")
+    private int hashQueueCapacity;
+
+    @Value("${habatoo.app.jwtSkipPaths:/api/auth/login,/api/auth/register,/api/auth/refresh,/api/test/all,"
+            + "/actuator/health,/actuator/prometheus}")
+    private String[] skipPaths;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactory.create(passwordStrength, passwordHashTargetMs, passwordMinStrength,
+                passwordMaxStrength, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashScheduler() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(threads, hashQueueCapacity, "password-hash");
+    }
+
+    @Bean
+    public ReactivePasswordHasher passwordHasher(PasswordEncoder passwordEncoder, Scheduler passwordHashScheduler) {
+        return new ReactivePasswordHasher(passwordEncoder, passwordHashScheduler);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtils jwtUtils,
+                                                         TokenDenylist tokenDenylist, JwtFailureStats jwtFailureStats,
+                                                         ReactiveUserDetailsService userDetailsService,
+                                                         SecurityVersionRegistry securityVersionRegistry) {
+        // Built here rather than declared as a bean: WebFilter beans are also added to the plain WebFlux chain
+        JwtAuthenticationWebFilter jwtFilter = new JwtAuthenticationWebFilter(
+                jwtUtils, tokenDenylist, jwtFailureStats, userDetailsService, securityVersionRegistry, skipPaths);
+
+        return http.csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling()
+                .authenticationEntryPoint((exchange, e) ->
+                        Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED)))
+                .and()
+                .authorizeExchange().pathMatchers("/api/auth/logout").authenticated()
+                .pathMatchers("/api/auth/**").permitAll()
+                .pathMatchers("/api/test/**").permitAll()
+                .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -0,0 +1,219 @@
+package educationManagementSystem.reactive.controllers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.payload.request.LoginRequest;
+import educationManagementSystem.payload.request.SignupRequest;
+import educationManagementSystem.payload.request.TokenRefreshRequest;
+import educationManagementSystem.payload.responce.JwtResponse;
+import educationManagementSystem.payload.responce.MessageResponse;
+import educationManagementSystem.reactive.model.UserRecord;
+import educationManagementSystem.reactive.repository.ReactiveRoleRepository;
+import educationManagementSystem.reactive.repository.ReactiveUserRepository;
+import educationManagementSystem.reactive.security.ClientAddressResolver;
+import educationManagementSystem.reactive.security.ReactivePasswordHasher;
+import educationManagementSystem.reactive.security.ReactiveRefreshTokenService;
+import educationManagementSystem.reactive.security.ReactiveUserDetailsServiceImpl;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import educationManagementSystem.security.throttle.LoginThrottle;
+import educationManagementSystem.services.SignupConflicts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.jsonwebtoken.Claims;
+import io.r2dbc.spi.R2dbcException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+    @Autowired
+    ReactiveUserRepository userRepository;
+
+    @Autowired
+    ReactiveRoleRepository roleRepository;
+
+    @Autowired
+    ReactiveUserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    ReactivePasswordHasher passwordHasher;
+
+    @Autowired
+    JwtUtils jwtUtils;
+
+    @Autowired
+    TokenDenylist tokenDenylist;
+
+    @Autowired
+    LoginThrottle loginThrottle;
+
+    @Autowired
+    ClientAddressResolver clientAddressResolver;
+
+    @Autowired
+    ReactiveRefreshTokenService refreshTokenService;
+
+    @Autowired
+    TransactionalOperator transactionalOperator;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                    ServerHttpRequest request) {
+        String username = loginRequest.getUsername();
+        String clientAddress = clientAddressResolver.resolve(request);
+        long retryAfterMs = loginThrottle.tryAcquire(username, clientAddress);
+        if (retryAfterMs > 0) {
+            return Mono.just(ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000))
+                    .body(new MessageResponse("Error: Too many login attempts, try again later.")));
+        }
+
+        return userDetailsService.findByUsername(username)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(user -> passwordHasher
+                        .matches(loginRequest.getPassword(), user.map(UserDetails::getPassword).orElse(null))
+                        .flatMap(matched -> {
+                            if (!matched) {
+                                loginThrottle.onFailure(username, clientAddress);
+                                return Mono.just(status(HttpStatus.UNAUTHORIZED, "Error: Unauthorized"));
+                            }
+                            loginThrottle.onSuccess(username, clientAddress);
+                            return upgradePassword((UserDetailsImpl) user.get(), loginRequest.getPassword())
+                                    .flatMap(userDetails -> refreshTokenService.issue(userDetails)
+                                            .map(refreshToken -> jwtResponse(userDetails, refreshToken)));
+                        }))
+                .onErrorResume(RejectedExecutionException.class, e -> Mono.just(overloaded()));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<?>> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        return refreshTokenService.rotate(refreshRequest.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation -> jwtResponse(rotation.getUser(), rotation.getRefreshToken()))
+                .defaultIfEmpty(status(HttpStatus.UNAUTHORIZED, "Error: Refresh token is invalid or expired."));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<?>> logoutUser(@RequestBody(required = false) TokenRefreshRequest logoutRequest,
+                                              ServerHttpRequest request) {
+        String headerAuth = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseAndVerify(headerAuth.substring(7));
+            if (claims != null) {
+                tokenDenylist.revokeToken(claims.getId(), claims.getExpiration());
+            }
+        }
+
+        Mono<Void> revokeRefreshToken = logoutRequest != null && StringUtils.hasText(logoutRequest.getRefreshToken())
+                ? refreshTokenService.revoke(logoutRequest.getRefreshToken())
+                : Mono.empty();
+        return revokeRefreshToken.thenReturn(ResponseEntity.ok(new MessageResponse("User logged out successfully!")));
+    }
+
+    // Taken names are answered before the password is hashed; as in the servlet signup, the unique
+    // keys still decide, which settles concurrent signups
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+        Mono<ResponseEntity<?>> register = passwordHasher.encode(signUpRequest.getPassword())
+                .flatMap(hash -> createUser(signUpRequest, hash))
+                .<ResponseEntity<?>>thenReturn(status(HttpStatus.OK, "User registered successfully!"))
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    String conflict = SignupConflicts.message(e.getMostSpecificCause().getMessage(), sqlState(e));
+                    if (conflict == null) {
+                        return Mono.error(e);
+                    }
+                    return Mono.just(status(HttpStatus.BAD_REQUEST, conflict));
+                })
+                .onErrorResume(RejectedExecutionException.class, e -> Mono.just(overloaded()));
+
+        return signupConflict(signUpRequest)
+                .<ResponseEntity<?>>map(conflict -> status(HttpStatus.BAD_REQUEST, conflict))
+                .switchIfEmpty(register);
+    }
+
+    private Mono<String> signupConflict(SignupRequest signUpRequest) {
+        return userRepository.existsByUsername(signUpRequest.getUsername())
+                .flatMap(taken -> taken
+                        ? Mono.just(SignupConflicts.USERNAME_TAKEN)
+                        : userRepository.existsByEmail(signUpRequest.getEmail())
+                                .filter(Boolean::booleanValue)
+                                .map(inUse -> SignupConflicts.EMAIL_IN_USE));
+    }
+
+    private static String sqlState(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException) {
+                return ((R2dbcException) cause).getSqlState();
+            }
+        }
+        return null;
+    }
+
+    private Mono<Void> createUser(SignupRequest signUpRequest, String passwordHash) {
+        return userRepository.save(new UserRecord(signUpRequest.getUsername(), signUpRequest.getEmail(), passwordHash))
+                .flatMap(user -> Flux.fromIterable(ERole.fromSignupNames(signUpRequest.getRole()))
+                        .concatMap(role -> roleRepository.findByName(role.name())
+                                .switchIfEmpty(Mono.error(new RuntimeException("Error: Role is not found."))))
+                        .concatMap(role -> userRepository.addRole(user.getId(), role.getId()))
+                        .then())
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<UserDetailsImpl> upgradePassword(UserDetailsImpl user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return Mono.just(user);
+        }
+        return passwordHasher.encode(rawPassword)
+                .flatMap(hash -> userDetailsService.updatePassword(user, hash))
+                .cast(UserDetailsImpl.class);
+    }
+
+    private ResponseEntity<?> jwtResponse(UserDetailsImpl userDetails, String refreshToken) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(item -> item.getAuthority())
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(new JwtResponse(jwtUtils.generateJwtToken(userDetails),
+                refreshToken,
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                roles));
+    }
+
+    private static ResponseEntity<?> status(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new MessageResponse(message));
+    }
+
+    // The hashing queue is full: same answer as the servlet bulkhead
+    private static ResponseEntity<?> overloaded() {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Service is overloaded, retry later."));
+    }
+}
@@ -0,0 +1,38 @@
+package educationManagementSystem.reactive.controllers;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.RequiresPermission;
+import reactor.core.publisher.Mono;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/test")
+public class ReactiveTestController {
+    @GetMapping("/all")
+    public Mono<String> allAccess() {
+        return Mono.just("Public Content.");
+    }
+
+    @GetMapping("/user")
+    @RequiresPermission(Permission.USER_BOARD_VIEW)
+    public Mono<String> userAccess() {
+        return Mono.just("User Content.");
+    }
+
+    @GetMapping("/teacher")
+    @RequiresPermission(Permission.TEACHER_BOARD_VIEW)
+    public Mono<String> teacherAccess() {
+        return Mono.just("Teacher Board.");
+    }
+
+    @GetMapping("/admin")
+    @RequiresPermission(Permission.ADMIN_BOARD_VIEW)
+    public Mono<String> adminAccess() {
+        return Mono.just("Admin Board.");
+    }
+}
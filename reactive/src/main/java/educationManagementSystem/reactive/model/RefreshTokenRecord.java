@@ -0,0 +1,84 @@
+package educationManagementSystem.reactive.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("refresh_tokens")
+public class RefreshTokenRecord {
+    @Id
+    private Long id;
+
+    @Column("token_hash")
+    private String tokenHash;
+
+    @Column("user_id")
+    private Long userId;
+
+    private String family;
+
+    @Column("expires_at")
+    private Instant expiresAt;
+
+    private boolean used;
+
+    public RefreshTokenRecord() {
+    }
+
+    public RefreshTokenRecord(String tokenHash, Long userId, String family, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.family = family;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getFamily() {
+        return family;
+    }
+
+    public void setFamily(String family) {
+        this.family = family;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isUsed() {
+        return used;
+    }
+
+    public void setUsed(boolean used) {
+        this.used = used;
+    }
+}
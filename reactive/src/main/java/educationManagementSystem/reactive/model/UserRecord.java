@@ -0,0 +1,71 @@
+package educationManagementSystem.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Row of the {@code users} table. R2DBC has no associations, roles are read through
+ * {@code user_roles} by the repository.
+ */
+@Table("users")
+public class UserRecord {
+    @Id
+    private Long id;
+
+    private String username;
+
+    private String email;
+
+    private String password;
+
+    private int securityVersion;
+
+    public UserRecord() {
+    }
+
+    public UserRecord(String username, String email, String password) {
+        this.username = username;
+        this.email = email;
+        this.password = password;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getSecurityVersion() {
+        return securityVersion;
+    }
+
+    public void setSecurityVersion(int securityVersion) {
+        this.securityVersion = securityVersion;
+    }
+}
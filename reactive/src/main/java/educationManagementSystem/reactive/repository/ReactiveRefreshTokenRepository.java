@@ -0,0 +1,24 @@
+package educationManagementSystem.reactive.repository;
+
+import educationManagementSystem.reactive.model.RefreshTokenRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveRefreshTokenRepository extends ReactiveCrudRepository<RefreshTokenRecord, Long> {
+    Mono<RefreshTokenRecord> findByTokenHash(String tokenHash);
+
+    // Conditional update: of two concurrent rotations of the same token only one sees 1
+    @Modifying
+    @Query("UPDATE refresh_tokens SET used = TRUE WHERE id = :id AND used = FALSE")
+    Mono<Integer> markUsed(Long id);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE family = :family")
+    Mono<Integer> deleteByFamily(String family);
+
+}
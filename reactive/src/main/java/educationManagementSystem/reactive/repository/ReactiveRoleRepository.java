@@ -0,0 +1,12 @@
+package educationManagementSystem.reactive.repository;
+
+import educationManagementSystem.reactive.model.RoleRecord;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveRoleRepository extends ReactiveCrudRepository<RoleRecord, Integer> {
+    Mono<RoleRecord> findByName(String name);
+}
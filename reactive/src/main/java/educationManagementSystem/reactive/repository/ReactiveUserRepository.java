@@ -0,0 +1,34 @@
+package educationManagementSystem.reactive.repository;
+
+import educationManagementSystem.reactive.model.UserRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRecord, Long> {
+    Mono<UserRecord> findByUsername(String username);
+
+    // lower(..) matches the case-insensitive unique indexes of the users table
+    @Query("SELECT COUNT(*) > 0 FROM users WHERE LOWER(username) = LOWER(:username)")
+    Mono<Boolean> existsByUsername(String username);
+
+    @Query("SELECT COUNT(*) > 0 FROM users WHERE LOWER(email) = LOWER(:email)")
+    Mono<Boolean> existsByEmail(String email);
+
+    @Query("SELECT r.name FROM roles r JOIN user_roles ur ON ur.role_id = r.id WHERE ur.user_id = :userId")
+    Flux<String> findRoleNamesByUserId(Long userId);
+
+    @Modifying
+    @Query("INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)")
+    Mono<Integer> addRole(Long userId, Integer roleId);
+
+    @Modifying
+    @Query("UPDATE users SET password = :password WHERE username = :username")
+    Mono<Integer> updatePassword(String username, String password);
+
+}
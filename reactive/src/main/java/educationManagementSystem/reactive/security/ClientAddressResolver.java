@@ -0,0 +1,125 @@
+package educationManagementSystem.reactive.security;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import io.netty.util.NetUtil;
+
+/**
+ * The client address the login throttle keys on. X-Forwarded-For is only read when the connection
+ * comes from one of {@code habatoo.app.reactive.trustedProxies} (addresses or CIDR ranges, empty by
+ * default); the entries are then walked from the right and the first one that is not a trusted
+ * proxy is the client, as Tomcat's RemoteIpValve does for the servlet application.
+ */
+@Component
+public class ClientAddressResolver {
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    @Value("${habatoo.app.reactive.trustedProxies:}")
+    private String trustedProxies;
+
+    private List<Range> proxies;
+
+    @PostConstruct
+    public void init() {
+        proxies = new ArrayList<>();
+        for (String proxy : StringUtils.commaDelimitedListToStringArray(trustedProxies)) {
+            if (StringUtils.hasText(proxy)) {
+                proxies.add(Range.parse(proxy.trim()));
+            }
+        }
+    }
+
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+
+        String address = remoteAddress.getHostString();
+        List<String> forwardedFor = request.getHeaders().get(X_FORWARDED_FOR);
+        if (forwardedFor == null || !isTrustedProxy(address)) {
+            return address;
+        }
+
+        String[] hops = StringUtils.commaDelimitedListToStringArray(String.join(",", forwardedFor));
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            address = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (proxies.isEmpty()) {
+            return false;
+        }
+        byte[] bytes = parseIpLiteral(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Range proxy : proxies) {
+            if (proxy.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Only IP literals: a host name would cost a blocking DNS lookup on the event loop
+    private static byte[] parseIpLiteral(String address) {
+        return NetUtil.createByteArrayFromIpAddressString(address);
+    }
+
+    private static final class Range {
+        private final byte[] network;
+
+        private final int prefixLength;
+
+        private Range(byte[] network, int prefixLength) {
+            this.network = network;
+            this.prefixLength = prefixLength;
+        }
+
+        static Range parse(String range) {
+            int slash = range.indexOf('/');
+            byte[] network = parseIpLiteral(slash < 0 ? range : range.substring(0, slash));
+            if (network == null) {
+                throw new IllegalArgumentException("Not an IP address or CIDR range: " + range);
+            }
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(range.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length: " + range);
+            }
+            return new Range(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int bits = prefixLength;
+            for (int i = 0; bits > 0; i++, bits -= 8) {
+                int mask = bits >= 8 ? 0xFF : (0xFF << (8 - bits)) & 0xFF;
+                if ((address[i] & mask) != (network[i] & mask)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
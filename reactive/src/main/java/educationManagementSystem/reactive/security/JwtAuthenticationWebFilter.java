@@ -0,0 +1,121 @@
+package educationManagementSystem.reactive.security;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code AuthTokenFilter}. Token verification is CPU-only and cached,
+ * so it runs inline; tokens whose security version is not known yet, or is outdated, go to the
+ * database, and that lookup is non-blocking. The versions it reads are remembered in the
+ * {@link SecurityVersionRegistry}, which has no blocking source here. The principal travels in the Reactor context instead of a
+ * thread-local.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+    private final JwtUtils jwtUtils;
+
+    private final TokenDenylist tokenDenylist;
+
+    private final JwtFailureStats jwtFailureStats;
+
+    private final ReactiveUserDetailsService userDetailsService;
+
+    private final SecurityVersionRegistry securityVersionRegistry;
+
+    private final List<PathPattern> skipPaths;
+
+    public JwtAuthenticationWebFilter(JwtUtils jwtUtils, TokenDenylist tokenDenylist, JwtFailureStats jwtFailureStats,
+                                      ReactiveUserDetailsService userDetailsService,
+                                      SecurityVersionRegistry securityVersionRegistry, String[] skipPaths) {
+        this.jwtUtils = jwtUtils;
+        this.tokenDenylist = tokenDenylist;
+        this.jwtFailureStats = jwtFailureStats;
+        this.userDetailsService = userDetailsService;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.skipPaths = Stream.of(skipPaths)
+                .map(PathPatternParser.defaultInstance::parse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (PathPattern pattern : skipPaths) {
+            if (pattern.matches(path)) {
+                return chain.filter(exchange);
+            }
+        }
+
+        String jwt = parseJwt(exchange);
+        Claims claims = jwt != null ? jwtUtils.parseAndVerify(jwt) : null;
+        if (claims != null && tokenDenylist.isRevoked(claims)) {
+            jwtFailureStats.record(JwtFailureStats.Reason.REVOKED);
+            claims = null;
+        }
+        if (claims == null) {
+            return chain.filter(exchange);
+        }
+
+        return loadUserDetails(claims)
+                .map(Optional::of)
+                .onErrorReturn(Optional.empty())
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(userDetails -> {
+                    if (!userDetails.isPresent()) {
+                        return chain.filter(exchange);
+                    }
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails.get(), null, userDetails.get().getAuthorities());
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+                });
+    }
+
+    private Mono<UserDetails> loadUserDetails(Claims claims) {
+        if (jwtUtils.isSecurityVersionCurrent(claims)) {
+            UserDetailsImpl userDetails = UserDetailsImpl.build(claims);
+            if (userDetails != null) {
+                return Mono.just(userDetails);
+            }
+        }
+
+        // Tokens issued before a role or password change fall back to the database
+        return userDetailsService.findByUsername(claims.getSubject())
+                .doOnNext(userDetails -> {
+                    UserDetailsImpl principal = (UserDetailsImpl) userDetails;
+                    securityVersionRegistry.remember(principal.getId(), principal.getSecurityVersion());
+                });
+    }
+
+    private String parseJwt(ServerWebExchange exchange) {
+        String headerAuth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+
+        return null;
+    }
+}
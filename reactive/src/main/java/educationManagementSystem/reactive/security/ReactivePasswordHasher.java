@@ -0,0 +1,40 @@
+package educationManagementSystem.reactive.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Runs the password encoder on a dedicated bounded scheduler, so BCrypt never blocks an
+ * event-loop thread. The scheduler has one thread per core and a bounded queue; once the queue
+ * is full new hashing work is rejected instead of piling up behind the CPU.
+ */
+public class ReactivePasswordHasher {
+    private final PasswordEncoder encoder;
+
+    private final Scheduler scheduler;
+
+    // Compared against when the user does not exist, so both cases cost one hash
+    private final String unknownUserHash;
+
+    public ReactivePasswordHasher(PasswordEncoder encoder, Scheduler scheduler) {
+        this.encoder = encoder;
+        this.scheduler = scheduler;
+        this.unknownUserHash = encoder.encode("userNotFoundPassword");
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return Mono.fromCallable(() -> encoder.encode(rawPassword)).subscribeOn(scheduler);
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : unknownUserHash;
+        return Mono.fromCallable(() -> encoder.matches(rawPassword, hash) && encodedPassword != null)
+                .subscribeOn(scheduler);
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,82 @@
+package educationManagementSystem.reactive.security;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import educationManagementSystem.security.permission.PermissionInterceptor;
+import educationManagementSystem.security.permission.RequiresPermission;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Enforces {@link RequiresPermission} on methods returning {@link Mono} or {@link Flux}: the mask
+ * test of {@link PermissionInterceptor} runs against the principal of the Reactor context before
+ * the method's publisher is subscribed. Denials are an {@link AccessDeniedException} signal, which
+ * the security filter chain answers with 401 for anonymous callers and 403 otherwise.
+ */
+public class ReactivePermissionInterceptor implements MethodInterceptor {
+    private final ObjectProvider<ReactivePermissionRegistry> registryProvider;
+
+    private final ConcurrentHashMap<Method, Long> masks = new ConcurrentHashMap<>();
+
+    private volatile ReactivePermissionRegistry registry;
+
+    public ReactivePermissionInterceptor(ObjectProvider<ReactivePermissionRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Long mask = masks.get(method);
+        if (mask == null) {
+            Object target = invocation.getThis();
+            mask = masks.computeIfAbsent(method, key -> PermissionInterceptor.requiredMask(key,
+                    target != null ? AopUtils.getTargetClass(target) : key.getDeclaringClass()));
+        }
+
+        long required = mask;
+        Mono<Void> check = ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.getPrincipal() instanceof UserDetailsImpl
+                        && registry().hasAny((UserDetailsImpl) authentication.getPrincipal(), required))
+                .switchIfEmpty(Mono.error(() -> new AccessDeniedException("Access is denied")))
+                .then();
+
+        if (Mono.class.isAssignableFrom(method.getReturnType())) {
+            return check.then(Mono.defer(() -> Mono.from(proceed(invocation))));
+        }
+        if (Flux.class.isAssignableFrom(method.getReturnType())) {
+            return check.thenMany(Flux.defer(() -> proceed(invocation)));
+        }
+        throw new IllegalStateException("@RequiresPermission needs a Mono or Flux return type: " + method);
+    }
+
+    private ReactivePermissionRegistry registry() {
+        ReactivePermissionRegistry resolved = registry;
+        if (resolved == null) {
+            resolved = registryProvider.getObject();
+            registry = resolved;
+        }
+        return resolved;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Publisher<Object> proceed(MethodInvocation invocation) {
+        try {
+            return (Publisher<Object>) invocation.proceed();
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+}
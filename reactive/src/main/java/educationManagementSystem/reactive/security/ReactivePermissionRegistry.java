@@ -0,0 +1,88 @@
+package educationManagementSystem.reactive.security;
+
+import java.time.Duration;
+
+import javax.annotation.PreDestroy;
+
+import educationManagementSystem.security.permission.PermissionTable;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code PermissionRegistry}: the same compiled {@link PermissionTable},
+ * read through R2DBC. The first read runs once every singleton, including any schema initializer,
+ * is ready and before the server starts; later ones run every
+ * {@code habatoo.app.permissionReloadIntervalMs} off the request path.
+ */
+@Service
+public class ReactivePermissionRegistry implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePermissionRegistry.class);
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @Value("${habatoo.app.permissionReloadIntervalMs:60000}")
+    private long reloadIntervalMs;
+
+    private volatile PermissionTable table = PermissionTable.EMPTY;
+
+    private Disposable reloading;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload().block();
+        Duration interval = Duration.ofMillis(reloadIntervalMs);
+        reloading = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> reload().onErrorResume(e -> {
+                    logger.warn("Cannot reload role permissions", e);
+                    return Mono.just(false);
+                }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        reloading.dispose();
+    }
+
+    /**
+     * Reads the table again and emits whether the mapping changed.
+     */
+    public Mono<Boolean> reload() {
+        return databaseClient.sql("SELECT role_name, permission FROM role_permissions")
+                .map(row -> new String[] {row.get("role_name", String.class), row.get("permission", String.class)})
+                .all()
+                .collect(PermissionTable::builder, (builder, grant) -> {
+                    if (!builder.grant(grant[0], grant[1])) {
+                        logger.warn("Skipping unknown role permission {} -> {}", grant[0], grant[1]);
+                    }
+                })
+                .map(builder -> {
+                    PermissionTable compiled = builder.build();
+                    if (compiled.equals(table)) {
+                        return false;
+                    }
+                    table = compiled;
+                    logger.info("Role permissions loaded: {}", compiled);
+                    return true;
+                });
+    }
+
+    /**
+     * Whether the principal has any of the permissions in {@code mask}.
+     */
+    public boolean hasAny(UserDetailsImpl user, long mask) {
+        return table.hasAny(user, mask);
+    }
+}
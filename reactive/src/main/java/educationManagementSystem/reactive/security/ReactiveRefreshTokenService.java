@@ -0,0 +1,149 @@
+package educationManagementSystem.reactive.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import educationManagementSystem.reactive.model.RefreshTokenRecord;
+import educationManagementSystem.reactive.repository.ReactiveRefreshTokenRepository;
+import educationManagementSystem.reactive.repository.ReactiveUserRepository;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.jsonwebtoken.io.Decoders;
+import reactor.core.publisher.Mono;
+
+/**
+ * Refresh-token rotation over R2DBC, storing the same HMAC keys in the same table as the
+ * servlet {@code RefreshTokenService}, so tokens issued by one deployment mode are accepted by
+ * the other.
+ */
+@Service
+public class ReactiveRefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRefreshTokenService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final int FAMILY_BYTES = 16;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    ReactiveRefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    ReactiveUserRepository userRepository;
+
+    @Autowired
+    ReactiveUserDetailsService userDetailsService;
+
+    @Autowired
+    TransactionalOperator transactionalOperator;
+
+    @Value("${habatoo.app.refreshTokenSecret:${habatoo.app.jwtSecret}}")
+    private String refreshTokenSecret;
+
+    @Value("${habatoo.app.refreshTokenExpirationMs:1209600000}")
+    private long refreshTokenExpirationMs;
+
+    private ThreadLocal<Mac> mac;
+
+    @PostConstruct
+    public void init() {
+        SecretKeySpec key = new SecretKeySpec(Decoders.BASE64.decode(refreshTokenSecret), HMAC_ALGORITHM);
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+                throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+            }
+        });
+    }
+
+    public Mono<String> issue(UserDetailsImpl user) {
+        return issue(user.getId(), randomToken(FAMILY_BYTES));
+    }
+
+    /**
+     * @return the new refresh token and the current principal, empty when the token is unknown,
+     * expired or has already been used
+     */
+    public Mono<Rotation> rotate(String token) {
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(stored -> stored.getExpiresAt().isAfter(Instant.now()))
+                .flatMap(stored -> refreshTokenRepository.markUsed(stored.getId())
+                        .flatMap(updated -> {
+                            if (updated == 0) {
+                                logger.warn("Refresh token reuse detected for user {}, revoking token family",
+                                        stored.getUserId());
+                                return refreshTokenRepository.deleteByFamily(stored.getFamily())
+                                        .then(Mono.<Rotation>empty());
+                            }
+                            return userRepository.findById(stored.getUserId())
+                                    .flatMap(user -> userDetailsService.findByUsername(user.getUsername()))
+                                    .flatMap(user -> issue(stored.getUserId(), stored.getFamily())
+                                            .map(next -> new Rotation(next, (UserDetailsImpl) user)));
+                        }))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> revoke(String token) {
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .flatMap(stored -> refreshTokenRepository.deleteByFamily(stored.getFamily()))
+                .then();
+    }
+
+    private Mono<String> issue(Long userId, String family) {
+        String token = randomToken(TOKEN_BYTES);
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenExpirationMs);
+        return refreshTokenRepository.save(new RefreshTokenRecord(hash(token), userId, family, expiresAt))
+                .thenReturn(token);
+    }
+
+    private String hash(String token) {
+        byte[] digest = mac.get().doFinal(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static String randomToken(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    public static class Rotation {
+        private final String refreshToken;
+
+        private final UserDetailsImpl user;
+
+        Rotation(String refreshToken, UserDetailsImpl user) {
+            this.refreshToken = refreshToken;
+            this.user = user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public UserDetailsImpl getUser() {
+            return user;
+        }
+    }
+}
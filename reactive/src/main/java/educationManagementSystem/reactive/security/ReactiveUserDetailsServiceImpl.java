@@ -0,0 +1,48 @@
+package educationManagementSystem.reactive.security;
+
+import java.util.stream.Collectors;
+
+import educationManagementSystem.reactive.repository.ReactiveUserRepository;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveUserDetailsServiceImpl implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+    @Autowired
+    ReactiveUserRepository userRepository;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .flatMap(user -> userRepository.findRoleNamesByUserId(user.getId())
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList())
+                        .map(authorities -> new UserDetailsImpl(
+                                user.getId(),
+                                user.getUsername(),
+                                user.getEmail(),
+                                user.getPassword(),
+                                authorities,
+                                user.getSecurityVersion())));
+    }
+
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+        return userRepository.updatePassword(user.getUsername(), newPassword)
+                .thenReturn(new UserDetailsImpl(
+                        userDetails.getId(),
+                        userDetails.getUsername(),
+                        userDetails.getEmail(),
+                        newPassword,
+                        userDetails.getAuthorities(),
+                        userDetails.getSecurityVersion()));
+    }
+}
@@ -0,0 +1,105 @@
+package educationManagementSystem.reactive;
+
+import java.util.Collections;
+import java.util.Map;
+
+import educationManagementSystem.payload.request.LoginRequest;
+import educationManagementSystem.payload.request.SignupRequest;
+import educationManagementSystem.payload.request.TokenRefreshRequest;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования сквозного сценария аутентификации реактивного приложения
+ * {@link ReactiveAuthApplication}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveAuthFlowTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    /**
+     * Инициализация схемы базы данных H2 для R2DBC.
+     */
+    @TestConfiguration
+    static class SchemaConfig {
+        @Bean
+        ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
+            ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+            initializer.setConnectionFactory(connectionFactory);
+            initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")));
+            return initializer;
+        }
+    }
+
+    @Test
+    void registerLoginRefreshLogout_Test() {
+
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername("reactive");
+        signupRequest.setEmail("reactive@user.com");
+        signupRequest.setPassword("password");
+        signupRequest.setRole(Collections.singleton("user"));
+
+        webTestClient.post().uri("/api/auth/register").bodyValue(signupRequest)
+                .exchange().expectStatus().isOk();
+        webTestClient.post().uri("/api/auth/register").bodyValue(signupRequest)
+                .exchange().expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Error: Username is already taken!");
+        signupRequest.setUsername("reactive2");
+        webTestClient.post().uri("/api/auth/register").bodyValue(signupRequest)
+                .exchange().expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Error: Email is already in use!");
+        signupRequest.setUsername("reactive");
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("reactive");
+        loginRequest.setPassword("wrong");
+        webTestClient.post().uri("/api/auth/login").bodyValue(loginRequest)
+                .exchange().expectStatus().isUnauthorized();
+
+        loginRequest.setPassword("password");
+        Map<?, ?> login = webTestClient.post().uri("/api/auth/login").bodyValue(loginRequest)
+                .exchange().expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        assertThat(login.get("roles")).isEqualTo(Collections.singletonList("ROLE_USER"));
+
+        webTestClient.get().uri("/api/test/user").headers(h -> h.setBearerAuth((String) login.get("accessToken")))
+                .exchange().expectStatus().isOk();
+        webTestClient.get().uri("/api/test/user")
+                .exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/api/test/admin").headers(h -> h.setBearerAuth((String) login.get("accessToken")))
+                .exchange().expectStatus().isForbidden();
+
+        TokenRefreshRequest refreshRequest = new TokenRefreshRequest();
+        refreshRequest.setRefreshToken((String) login.get("refreshToken"));
+        Map<?, ?> refreshed = webTestClient.post().uri("/api/auth/refresh").bodyValue(refreshRequest)
+                .exchange().expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        webTestClient.post().uri("/api/auth/refresh").bodyValue(refreshRequest)
+                .exchange().expectStatus().isUnauthorized();
+
+        refreshRequest.setRefreshToken((String) refreshed.get("refreshToken"));
+        webTestClient.post().uri("/api/auth/logout").headers(h -> h.setBearerAuth((String) refreshed.get("accessToken")))
+                .bodyValue(refreshRequest)
+                .exchange().expectStatus().isOk();
+        webTestClient.get().uri("/api/test/user").headers(h -> h.setBearerAuth((String) refreshed.get("accessToken")))
+                .exchange().expectStatus().isUnauthorized();
+
+    }
+
+}
@@ -0,0 +1,47 @@
+CREATE TABLE IF NOT EXISTS roles (
+    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(20),
+    email VARCHAR(50),
+    password VARCHAR(120),
+    security_version INTEGER DEFAULT 0 NOT NULL,
+    username_lower VARCHAR(20) AS LOWER(username),
+    email_lower VARCHAR(50) AS LOWER(email)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_lower ON users (username_lower);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_lower ON users (email_lower);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id INTEGER NOT NULL,
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash VARCHAR(43) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    family VARCHAR(22) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used BOOLEAN NOT NULL
+);
+
+INSERT INTO roles (name) VALUES ('ROLE_USER'), ('ROLE_TEACHER'), ('ROLE_ADMIN');
+
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_name VARCHAR(20) NOT NULL,
+    permission VARCHAR(40) NOT NULL,
+    PRIMARY KEY (role_name, permission)
+);
+
+INSERT INTO role_permissions (role_name, permission) VALUES
+('ROLE_USER', 'USER_BOARD_VIEW'),
+('ROLE_TEACHER', 'USER_BOARD_VIEW'),
+('ROLE_TEACHER', 'TEACHER_BOARD_VIEW'),
+('ROLE_ADMIN', 'USER_BOARD_VIEW'),
+('ROLE_ADMIN', 'ADMIN_BOARD_VIEW');
@@ -2,8 +2,10 @@ package educationManagementSystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EducationManagementSystemApplication {
 
 	public static void main(String[] args) {
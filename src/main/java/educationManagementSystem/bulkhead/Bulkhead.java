@@ -0,0 +1,182 @@
+package educationManagementSystem.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit with a bounded wait queue for one class of routes. When adaptive, the limit
+ * follows the ratio between the best observed latency and the current one, so the bulkhead sheds
+ * load as soon as requests start queueing inside the application instead of when threads run out.
+ */
+public class Bulkhead {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Windows after which the no-load latency baseline is measured again
+    private static final int BASELINE_WINDOWS = 60;
+
+    // A window cuts the limit by at most a tenth, and never below a quarter of the maximum:
+    // one slow window, or a stale baseline, must not leave the bulkhead throttled for a minute
+    private static final double MAX_DECREASE = 0.1;
+
+    private static final int MIN_LIMIT_DIVISOR = 4;
+
+    private final String name;
+
+    private final int maxLimit;
+
+    private final int minLimit;
+
+    private final int queueDepth;
+
+    private final long maxWaitMillis;
+
+    private final boolean adaptive;
+
+    private final AdjustableSemaphore permits;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder windowLatency = new LongAdder();
+
+    private final LongAdder windowCount = new LongAdder();
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private volatile int limit;
+
+    private volatile double baselineNanos = Double.MAX_VALUE;
+
+    private int windowsSinceBaseline;
+
+    static class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        AdjustableSemaphore(int permits) {
+            super(permits, false);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+
+    public Bulkhead(String name, int maxLimit, int queueDepth, long maxWaitMillis, boolean adaptive) {
+        this.name = name;
+        this.maxLimit = maxLimit;
+        this.minLimit = Math.max(1, maxLimit / MIN_LIMIT_DIVISOR);
+        this.queueDepth = queueDepth;
+        this.maxWaitMillis = maxWaitMillis;
+        this.adaptive = adaptive;
+        this.limit = maxLimit;
+        this.permits = new AdjustableSemaphore(maxLimit);
+    }
+
+    /**
+     * Admits the caller immediately, after a bounded wait in the queue, or not at all.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (!permits.tryAcquire()) {
+            if (queued.incrementAndGet() > queueDepth) {
+                queued.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            try {
+                if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    return false;
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        release();
+        record(latencyNanos);
+    }
+
+    /**
+     * Frees the permit without a latency sample, for requests whose duration says nothing about
+     * the load, such as responses streamed after an async dispatch.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Feeds a latency sample to the adaptive limit; the permit stays taken.
+     */
+    public void record(long latencyNanos) {
+        if (adaptive) {
+            sample(latencyNanos);
+        }
+    }
+
+    private void sample(long latencyNanos) {
+        windowLatency.add(latencyNanos);
+        windowCount.increment();
+
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            long count = windowCount.sumThenReset();
+            long total = windowLatency.sumThenReset();
+            if (count > 0) {
+                adjust((double) total / count);
+            }
+        }
+    }
+
+    synchronized void adjust(double averageNanos) {
+        if (averageNanos < baselineNanos || ++windowsSinceBaseline >= BASELINE_WINDOWS) {
+            baselineNanos = averageNanos;
+            windowsSinceBaseline = 0;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, baselineNanos / averageNanos));
+        int current = limit;
+        // sqrt(limit) leaves headroom for probing a higher limit once latency recovers
+        int target = (int) Math.round(current * gradient + Math.sqrt(current));
+        int lowest = Math.max(minLimit, (int) Math.ceil(current * (1 - MAX_DECREASE)));
+        int next = Math.max(Math.min(lowest, current), Math.min(maxLimit, target));
+        if (next > current) {
+            permits.release(next - current);
+        } else if (next < current) {
+            permits.reduce(current - next);
+        }
+        limit = next;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
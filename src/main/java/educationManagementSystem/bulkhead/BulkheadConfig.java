@@ -0,0 +1,53 @@
+package educationManagementSystem.bulkhead;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "habatoo.app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Value("${habatoo.app.bulkhead.adaptive:true}")
+    private boolean adaptive;
+
+    @Bean
+    public Bulkhead authBulkhead(
+            // 0 means one slot per core: login and registration are CPU bound on BCrypt
+            @Value("${habatoo.app.bulkhead.auth.maxConcurrent:0}") int maxConcurrent,
+            @Value("${habatoo.app.bulkhead.auth.queueDepth:16}") int queueDepth,
+            @Value("${habatoo.app.bulkhead.auth.maxWaitMs:1000}") long maxWaitMs) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        return new Bulkhead("auth", limit, queueDepth, maxWaitMs, adaptive);
+    }
+
+    @Bean
+    public Bulkhead readBulkhead(
+            @Value("${habatoo.app.bulkhead.read.maxConcurrent:100}") int maxConcurrent,
+            @Value("${habatoo.app.bulkhead.read.queueDepth:20}") int queueDepth,
+            @Value("${habatoo.app.bulkhead.read.maxWaitMs:500}") long maxWaitMs) {
+        return new Bulkhead("read", maxConcurrent, queueDepth, maxWaitMs, adaptive);
+    }
+
+    @Bean
+    public Bulkhead writeBulkhead(
+            @Value("${habatoo.app.bulkhead.write.maxConcurrent:30}") int maxConcurrent,
+            @Value("${habatoo.app.bulkhead.write.queueDepth:10}") int queueDepth,
+            @Value("${habatoo.app.bulkhead.write.maxWaitMs:500}") long maxWaitMs) {
+        return new Bulkhead("write", maxConcurrent, queueDepth, maxWaitMs, adaptive);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            Bulkhead authBulkhead, Bulkhead readBulkhead, Bulkhead writeBulkhead,
+            @Value("${habatoo.app.bulkhead.retryAfterSeconds:1}") long retryAfterSeconds) {
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter(authBulkhead, readBulkhead, writeBulkhead, retryAfterSeconds));
+        // Runs ahead of the security filter chain so rejected requests cost no JWT work
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,118 @@
+package educationManagementSystem.bulkhead;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Routes every request into the bulkhead of its route class and answers 503 with
+ * {@code Retry-After} when that bulkhead is full, before any security or controller work runs.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String OVERLOADED_BODY = "{\"message\":\"Error: Service is overloaded, retry later.\"}";
+
+    private final Bulkhead auth;
+
+    private final Bulkhead read;
+
+    private final Bulkhead write;
+
+    private final String retryAfterSeconds;
+
+    public BulkheadFilter(Bulkhead auth, Bulkhead read, Bulkhead write, long retryAfterSeconds) {
+        this.auth = auth;
+        this.read = read;
+        this.write = write;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = select(request);
+
+        boolean admitted;
+        try {
+            admitted = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+
+        if (!admitted) {
+            // Written directly: an error dispatch would run the rejected request through security
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(OVERLOADED_BODY);
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long latencyNanos = System.nanoTime() - started;
+            if (request.isAsyncStarted()) {
+                // Streamed responses keep the slot until they complete; only the time to the
+                // async start is a sample, the streaming says nothing about the load
+                bulkhead.record(latencyNanos);
+                request.getAsyncContext().addListener(new ReleaseOnComplete(bulkhead));
+            } else {
+                bulkhead.release(latencyNanos);
+            }
+        }
+    }
+
+    // onComplete also follows a timeout or an error, so the permit is released exactly once
+    private static class ReleaseOnComplete implements AsyncListener {
+        private final Bulkhead bulkhead;
+
+        ReleaseOnComplete(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            bulkhead.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a new async cycle replaces the listeners, so stay registered for it
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private Bulkhead select(HttpServletRequest request) {
+        String path = request.getServletPath();
+        // Only the routes that hash passwords compete for the auth slots
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+            return auth;
+        }
+
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return read;
+        }
+        return write;
+    }
+}
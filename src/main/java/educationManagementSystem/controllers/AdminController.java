@@ -0,0 +1,255 @@
+package educationManagementSystem.controllers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.payload.request.PasswordRequest;
+import educationManagementSystem.payload.request.RolesRequest;
+import educationManagementSystem.payload.responce.MessageResponse;
+import educationManagementSystem.payload.responce.UserImportJobResponse;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.permission.PermissionRegistry;
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.RequiresPermission;
+import educationManagementSystem.security.services.RefreshTokenService;
+import educationManagementSystem.services.UserAccountService;
+import educationManagementSystem.services.UserImportService;
+import educationManagementSystem.services.UserListingService;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TokenDenylist tokenDenylist;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    UserListingService userListingService;
+
+    @Autowired
+    UserImportService userImportService;
+
+    @Autowired
+    UserAccountService userAccountService;
+
+    @Autowired
+    PermissionRegistry permissionRegistry;
+
+    @GetMapping("/users")
+    @RequiresPermission(Permission.USER_LIST)
+    public ResponseEntity<?> listUsers(@RequestParam(defaultValue = "0") long afterId,
+                                       @RequestParam(defaultValue = "50") int size,
+                                       @RequestParam(required = false) String role) {
+        if (size < 1 || size > UserListingService.MAX_PAGE_SIZE) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: Page size must be between 1 and "
+                            + UserListingService.MAX_PAGE_SIZE + "."));
+        }
+
+        ERole roleFilter = null;
+        if (role != null) {
+            roleFilter = parseRole(role);
+            if (roleFilter == null) {
+                return ResponseEntity
+                        .badRequest()
+                        .body(new MessageResponse("Error: Role is not found."));
+            }
+        }
+
+        return ResponseEntity.ok(userListingService.page(afterId, size, roleFilter));
+    }
+
+    @GetMapping("/users/export")
+    @RequiresPermission(Permission.USER_EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(required = false) String role) {
+        UserListingService.Format exportFormat;
+        try {
+            exportFormat = UserListingService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Export format is not supported.");
+        }
+
+        ERole roleFilter = role != null ? parseRole(role) : null;
+        if (role != null && roleFilter == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error: Role is not found.");
+        }
+
+        boolean csv = exportFormat == UserListingService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + (csv ? "csv" : "ndjson"))
+                .body(out -> userListingService.export(exportFormat, roleFilter, out));
+    }
+
+    // The body is spooled as CSV or JSON lines, not bound to a request object, and imported in the
+    // background: the response names the job to poll
+    @PostMapping("/users/import")
+    @RequiresPermission(Permission.USER_IMPORT)
+    public ResponseEntity<?> importUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                         HttpServletRequest request) throws IOException {
+        UserListingService.Format importFormat;
+        try {
+            importFormat = UserListingService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: Import format is not supported."));
+        }
+
+        UserImportJobResponse job;
+        try {
+            job = userImportService.submit(importFormat, request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .body(new MessageResponse("Error: Too many imports are waiting, retry later."));
+        }
+
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/admin/users/import/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/users/import/{id}")
+    @RequiresPermission(Permission.USER_IMPORT)
+    public ResponseEntity<?> importJob(@PathVariable String id) {
+        UserImportJobResponse job = userImportService.job(id);
+        if (job == null) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("Error: Import is not found."));
+        }
+
+        return ResponseEntity.ok(job);
+    }
+
+    @PostMapping("/users/{id}/revoke-sessions")
+    @RequiresPermission(Permission.SESSION_REVOKE)
+    public ResponseEntity<?> revokeSessions(@PathVariable Long id) {
+        if (!userRepository.existsById(id)) {
+            return userNotFound();
+        }
+
+        tokenDenylist.revokeUser(id);
+        refreshTokenService.revokeAll(id);
+
+        return ResponseEntity.ok(new MessageResponse("User sessions revoked successfully!"));
+    }
+
+    @PutMapping("/users/{id}/roles")
+    @RequiresPermission(Permission.USER_MANAGE)
+    public ResponseEntity<?> changeRoles(@PathVariable Long id, @Valid @RequestBody RolesRequest rolesRequest) {
+        Set<ERole> roles = EnumSet.noneOf(ERole.class);
+        for (String role : rolesRequest.getRoles()) {
+            ERole name = parseRole(role);
+            if (name == null) {
+                return ResponseEntity
+                        .badRequest()
+                        .body(new MessageResponse("Error: Role is not found."));
+            }
+            roles.add(name);
+        }
+
+        if (!userAccountService.changeRoles(id, roles)) {
+            return userNotFound();
+        }
+
+        return ResponseEntity.ok(new MessageResponse("User roles changed successfully!"));
+    }
+
+    @PutMapping("/users/{id}/password")
+    @RequiresPermission(Permission.USER_MANAGE)
+    public ResponseEntity<?> changePassword(@PathVariable Long id,
+                                            @Valid @RequestBody PasswordRequest passwordRequest) {
+        if (!userAccountService.changePassword(id, passwordRequest.getPassword())) {
+            return userNotFound();
+        }
+
+        return ResponseEntity.ok(new MessageResponse("User password changed successfully!"));
+    }
+
+    @DeleteMapping("/users/{id}")
+    @RequiresPermission(Permission.USER_MANAGE)
+    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
+        try {
+            if (!userAccountService.delete(id)) {
+                return userNotFound();
+            }
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Error: User still has enrollments or grades."));
+        }
+
+        return ResponseEntity.ok(new MessageResponse("User deleted successfully!"));
+    }
+
+    // Applies a changed role_permissions table now instead of at the next periodic reload
+    @PostMapping("/permissions/reload")
+    @RequiresPermission(Permission.PERMISSION_RELOAD)
+    public ResponseEntity<?> reloadPermissions() {
+        boolean changed = permissionRegistry.reload();
+
+        return ResponseEntity.ok(new MessageResponse(changed
+                ? "Role permissions reloaded successfully!"
+                : "Role permissions are up to date."));
+    }
+
+    private static ResponseEntity<?> userNotFound() {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new MessageResponse("Error: User is not found."));
+    }
+
+    // Accepts the names used at registration (admin, teacher, user) as well as ROLE_* names
+    private static ERole parseRole(String role) {
+        String name = role.toUpperCase(Locale.ROOT);
+        try {
+            return ERole.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,24 +1,30 @@
 package educationManagementSystem.controllers;
 
-import java.util.HashSet;
+import java.sql.SQLException;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 import educationManagementSystem.model.ERole;
-import educationManagementSystem.model.Role;
 import educationManagementSystem.model.User;
 import educationManagementSystem.payload.request.LoginRequest;
 import educationManagementSystem.payload.request.SignupRequest;
+import educationManagementSystem.payload.request.TokenRefreshRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -27,10 +33,18 @@ import org.springframework.web.bind.annotation.RestController;
 
 import educationManagementSystem.payload.responce.JwtResponse;
 import educationManagementSystem.payload.responce.MessageResponse;
-import educationManagementSystem.repository.RoleRepository;
 import educationManagementSystem.repository.UserRepository;
 import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.services.RefreshTokenService;
+import educationManagementSystem.security.services.UserChangedEvent;
+import educationManagementSystem.security.throttle.LoginThrottle;
 import educationManagementSystem.security.services.UserDetailsImpl;
+import educationManagementSystem.services.RoleRegistry;
+import educationManagementSystem.services.SignupConflicts;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -43,7 +57,7 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -51,11 +65,41 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    LoginThrottle loginThrottle;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    TokenDenylist tokenDenylist;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    @Timed(value = "auth.login", histogram = true)
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
+        // resolved from X-Forwarded-For behind a trusted proxy, see server.forward-headers-strategy
+        String clientAddress = request.getRemoteAddr();
+        long retryAfterMs = loginThrottle.tryAcquire(loginRequest.getUsername(), clientAddress);
+        if (retryAfterMs > 0) {
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000))
+                    .body(new MessageResponse("Error: Too many login attempts, try again later."));
+        }
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (AuthenticationException e) {
+            loginThrottle.onFailure(loginRequest.getUsername(), clientAddress);
+            throw e;
+        }
+        loginThrottle.onSuccess(loginRequest.getUsername(), clientAddress);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -66,24 +110,68 @@ public class AuthController {
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(new JwtResponse(jwt,
+                refreshTokenService.issue(userDetails),
                 userDetails.getId(),
                 userDetails.getUsername(),
                 userDetails.getEmail(),
                 roles));
     }
 
+    @PostMapping("/refresh")
+    @Timed(value = "auth.refresh", histogram = true)
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+        if (rotation == null) {
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Error: Refresh token is invalid or expired."));
+        }
+
+        UserDetailsImpl userDetails = rotation.getUser();
+        String jwt = jwtUtils.generateJwtToken(userDetails);
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(item -> item.getAuthority())
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(new JwtResponse(jwt,
+                rotation.getRefreshToken(),
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                roles));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(@RequestBody(required = false) TokenRefreshRequest logoutRequest,
+                                        HttpServletRequest request) {
+        String headerAuth = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseAndVerify(headerAuth.substring(7));
+            if (claims != null) {
+                tokenDenylist.revokeToken(claims.getId(), claims.getExpiration());
+            }
+        }
+
+        if (logoutRequest != null && StringUtils.hasText(logoutRequest.getRefreshToken())) {
+            refreshTokenService.revoke(logoutRequest.getRefreshToken());
+        }
+
+        return ResponseEntity.ok(new MessageResponse("User logged out successfully!"));
+    }
+
     @PostMapping("/register")
+    @Timed(value = "auth.register", histogram = true)
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+        // Taken names are answered before the password is hashed
         if (userRepository.existsByUsername(signUpRequest.getUsername())) {
             return ResponseEntity
                     .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
+                    .body(new MessageResponse(SignupConflicts.USERNAME_TAKEN));
         }
-
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
             return ResponseEntity
                     .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
+                    .body(new MessageResponse(SignupConflicts.EMAIL_IN_USE));
         }
 
         // Create new user's account
@@ -91,39 +179,32 @@ public class AuthController {
                 signUpRequest.getEmail(),
                 encoder.encode(signUpRequest.getPassword()));
 
-        Set<String> strRoles = signUpRequest.getRole();
-        Set<Role> roles = new HashSet<>();
-
-        if (strRoles == null) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(userRole);
-        } else {
-            strRoles.forEach(role -> {
-                switch (role) {
-                    case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
-
-                        break;
-                    case "teacher":
-                        Role modRole = roleRepository.findByName(ERole.ROLE_TEACHER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(modRole);
-
-                        break;
-                    default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(userRole);
-                }
-            });
+        user.setRoles(roleRegistry.get(ERole.fromSignupNames(signUpRequest.getRole())));
+
+        // The unique keys still decide, which settles concurrent signups for the same name
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String conflict = SignupConflicts.message(e.getMostSpecificCause().getMessage(), sqlState(e));
+            if (conflict != null) {
+                return ResponseEntity
+                        .badRequest()
+                        .body(new MessageResponse(conflict));
+            }
+            throw e;
         }
-
-        user.setRoles(roles);
-        userRepository.save(user);
+        eventPublisher.publishEvent(
+                new UserChangedEvent(user.getId(), user.getUsername(), UserChangedEvent.Type.REGISTERED));
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
+
+    private static String sqlState(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                return ((SQLException) cause).getSQLState();
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package educationManagementSystem.controllers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import educationManagementSystem.enrollment.EnrollmentService;
+import educationManagementSystem.model.Course;
+import educationManagementSystem.model.Section;
+import educationManagementSystem.payload.request.CapacityRequest;
+import educationManagementSystem.payload.request.CourseRequest;
+import educationManagementSystem.payload.request.SectionRequest;
+import educationManagementSystem.payload.responce.CourseResponse;
+import educationManagementSystem.payload.responce.EnrollmentResponse;
+import educationManagementSystem.payload.responce.MessageResponse;
+import educationManagementSystem.payload.responce.SectionResponse;
+import educationManagementSystem.repository.CourseRepository;
+import educationManagementSystem.repository.SectionRepository;
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.RequiresPermission;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api")
+public class CourseController {
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    SectionRepository sectionRepository;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @GetMapping("/courses")
+    @RequiresPermission(Permission.COURSE_VIEW)
+    public List<CourseResponse> listCourses() {
+        Map<Long, List<SectionResponse>> sections = new LinkedHashMap<>();
+        for (Section section : sectionRepository.findAllWithCourse()) {
+            sections.computeIfAbsent(section.getCourse().getId(), id -> new ArrayList<>())
+                    .add(enrollmentService.describe(section));
+        }
+
+        return courseRepository.findAll(Sort.by("code")).stream()
+                .map(course -> new CourseResponse(course.getId(), course.getCode(), course.getTitle(),
+                        sections.getOrDefault(course.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    @PostMapping("/courses")
+    @RequiresPermission(Permission.COURSE_MANAGE)
+    public ResponseEntity<?> addCourse(@Valid @RequestBody CourseRequest courseRequest) {
+        Course course;
+        try {
+            course = courseRepository.saveAndFlush(new Course(courseRequest.getCode(), courseRequest.getTitle()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: Course code is already in use!"));
+        }
+
+        return ResponseEntity.ok(new CourseResponse(course.getId(), course.getCode(), course.getTitle(),
+                new ArrayList<>()));
+    }
+
+    @PostMapping("/courses/{courseId}/sections")
+    @RequiresPermission(Permission.COURSE_MANAGE)
+    public ResponseEntity<?> addSection(@PathVariable Long courseId,
+                                        @Valid @RequestBody SectionRequest sectionRequest) {
+        if (!courseRepository.existsById(courseId)) {
+            return courseNotFound();
+        }
+
+        Section section;
+        try {
+            section = sectionRepository.saveAndFlush(new Section(courseRepository.getOne(courseId),
+                    sectionRequest.getCode(), sectionRequest.getCapacity()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: Section code is already in use!"));
+        }
+
+        return ResponseEntity.ok(enrollmentService.describe(section));
+    }
+
+    @PutMapping("/sections/{sectionId}/capacity")
+    @RequiresPermission(Permission.COURSE_MANAGE)
+    public ResponseEntity<?> setCapacity(@PathVariable Long sectionId,
+                                         @Valid @RequestBody CapacityRequest capacityRequest) {
+        SectionResponse section;
+        try {
+            section = enrollmentService.setCapacity(sectionId, capacityRequest.getCapacity());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse(e.getMessage()));
+        }
+
+        return section != null ? ResponseEntity.ok(section) : sectionNotFound();
+    }
+
+    @GetMapping("/sections/{sectionId}/enrollment")
+    @RequiresPermission(Permission.ENROLLMENT_SELF)
+    public ResponseEntity<?> getEnrollment(@PathVariable Long sectionId,
+                                           @AuthenticationPrincipal UserDetailsImpl user) {
+        return placement(enrollmentService.placement(sectionId, user.getId()));
+    }
+
+    @PostMapping("/sections/{sectionId}/enrollment")
+    @RequiresPermission(Permission.ENROLLMENT_SELF)
+    public ResponseEntity<?> enroll(@PathVariable Long sectionId,
+                                    @AuthenticationPrincipal UserDetailsImpl user) {
+        return placement(enrollmentService.enroll(sectionId, user.getId()));
+    }
+
+    @DeleteMapping("/sections/{sectionId}/enrollment")
+    @RequiresPermission(Permission.ENROLLMENT_SELF)
+    public ResponseEntity<?> drop(@PathVariable Long sectionId,
+                                  @AuthenticationPrincipal UserDetailsImpl user) {
+        return placement(enrollmentService.drop(sectionId, user.getId()));
+    }
+
+    private static ResponseEntity<?> placement(EnrollmentResponse placement) {
+        return placement != null ? ResponseEntity.ok(placement) : sectionNotFound();
+    }
+
+    private static ResponseEntity<?> courseNotFound() {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new MessageResponse("Error: Course is not found."));
+    }
+
+    private static ResponseEntity<?> sectionNotFound() {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new MessageResponse("Error: Section is not found."));
+    }
+}
@@ -0,0 +1,41 @@
+package educationManagementSystem.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import educationManagementSystem.dashboard.DashboardService;
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.RequiresPermission;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api")
+public class DashboardController {
+    @Autowired
+    DashboardService dashboardService;
+
+    // The cached JSON is written as is; a matching If-None-Match gets 304 without a body
+    @GetMapping("/dashboard")
+    @RequiresPermission(Permission.DASHBOARD_VIEW)
+    public ResponseEntity<byte[]> dashboard(@AuthenticationPrincipal UserDetailsImpl user, WebRequest request) {
+        DashboardService.Dashboard dashboard = dashboardService.get(user.getId());
+        if (request.checkNotModified(dashboard.getEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(dashboard.getEtag())
+                .body(dashboard.getJson());
+    }
+}
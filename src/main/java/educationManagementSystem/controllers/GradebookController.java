@@ -0,0 +1,68 @@
+package educationManagementSystem.controllers;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import educationManagementSystem.gradebook.GradebookService;
+import educationManagementSystem.payload.request.GradeUploadRequest;
+import educationManagementSystem.payload.responce.GradeDashboardResponse;
+import educationManagementSystem.payload.responce.GradeUploadResponse;
+import educationManagementSystem.payload.responce.MessageResponse;
+import educationManagementSystem.payload.responce.SectionGradesResponse;
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.RequiresPermission;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api")
+public class GradebookController {
+    @Autowired
+    GradebookService gradebookService;
+
+    @PostMapping("/sections/{sectionId}/grades")
+    @RequiresPermission(Permission.GRADE_MANAGE)
+    public ResponseEntity<?> uploadGrades(@PathVariable Long sectionId,
+                                          @Valid @RequestBody GradeUploadRequest uploadRequest) {
+        GradeUploadResponse uploaded;
+        try {
+            uploaded = gradebookService.upload(sectionId, uploadRequest.getGrades());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse(e.getMessage()));
+        }
+
+        return uploaded != null ? ResponseEntity.ok(uploaded) : sectionNotFound();
+    }
+
+    @GetMapping("/sections/{sectionId}/grades/summary")
+    @RequiresPermission(Permission.GRADE_MANAGE)
+    public ResponseEntity<?> sectionSummary(@PathVariable Long sectionId) {
+        SectionGradesResponse summary = gradebookService.summary(sectionId);
+        return summary != null ? ResponseEntity.ok(summary) : sectionNotFound();
+    }
+
+    @GetMapping("/grades/me")
+    @RequiresPermission(Permission.GRADE_VIEW_OWN)
+    public GradeDashboardResponse dashboard(@AuthenticationPrincipal UserDetailsImpl user) {
+        return gradebookService.dashboard(user.getId());
+    }
+
+    private static ResponseEntity<?> sectionNotFound() {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new MessageResponse("Error: Section is not found."));
+    }
+}
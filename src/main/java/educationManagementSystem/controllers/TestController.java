@@ -1,11 +1,13 @@
 package educationManagementSystem.controllers;
 
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.RequiresPermission;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/test")
@@ -16,19 +18,19 @@ public class TestController {
     }
 
     @GetMapping("/user")
-    @PreAuthorize("hasRole('USER') or hasRole('TEACHER') or hasRole('ADMIN')")
+    @RequiresPermission(Permission.USER_BOARD_VIEW)
     public String userAccess() {
         return "User Content.";
     }
 
     @GetMapping("/teacher")
-    @PreAuthorize("hasRole('TEACHER')")
+    @RequiresPermission(Permission.TEACHER_BOARD_VIEW)
     public String teacherAccess() {
         return "Teacher Board.";
     }
 
     @GetMapping("/admin")
-    @PreAuthorize("hasRole('ADMIN')")
+    @RequiresPermission(Permission.ADMIN_BOARD_VIEW)
     public String adminAccess() {
         return "Admin Board.";
     }
@@ -0,0 +1,164 @@
+package educationManagementSystem.dashboard;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import educationManagementSystem.datasource.PrimaryReadTransactionTemplate;
+import educationManagementSystem.enrollment.StudentsChangedEvent;
+import educationManagementSystem.gradebook.GradebookService;
+import educationManagementSystem.model.EnrollmentStatus;
+import educationManagementSystem.payload.responce.CourseGradeResponse;
+import educationManagementSystem.payload.responce.DashboardResponse;
+import educationManagementSystem.payload.responce.DashboardSectionResponse;
+import educationManagementSystem.payload.responce.GradeDashboardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Serves each student's dashboard from a bounded cache of rendered JSON. A dashboard is built on
+ * first access and dropped when a {@link StudentsChangedEvent} names its student; events arrive
+ * after commit, and a build that overlaps an invalidation is discarded with it. The TTL bounds
+ * staleness when the change happened on another instance.
+ */
+@Service
+public class DashboardService {
+    private static final String SELECT_ENROLLMENTS =
+            "SELECT e.section_id, e.status, s.code AS section_code, c.code AS course_code, c.title "
+                    + "FROM enrollments e "
+                    + "JOIN sections s ON s.id = e.section_id "
+                    + "JOIN courses c ON c.id = s.course_id "
+                    + "WHERE e.user_id = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    GradebookService gradebookService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${habatoo.app.dashboardCacheSize:50000}")
+    private long maximumSize;
+
+    @Value("${habatoo.app.dashboardCacheTtlSeconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Long, Dashboard> cache;
+
+    // a replica could still miss the change that invalidated the entry
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new PrimaryReadTransactionTemplate(transactionManager);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public Dashboard get(long userId) {
+        return cache.get(userId, this::build);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        cache.invalidateAll(event.getUserIds());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private Dashboard build(long userId) {
+        DashboardResponse dashboard = transactionTemplate.execute(status -> {
+            Map<Long, DashboardSectionResponse> sections = new LinkedHashMap<>();
+            jdbcTemplate.query(SELECT_ENROLLMENTS, rs -> {
+                long sectionId = rs.getLong("section_id");
+                sections.put(sectionId, new DashboardSectionResponse(sectionId, rs.getString("course_code"),
+                        rs.getString("title"), rs.getString("section_code"),
+                        EnrollmentStatus.valueOf(rs.getString("status")), null));
+            }, userId);
+
+            GradeDashboardResponse grades = gradebookService.dashboard(userId);
+            for (CourseGradeResponse course : grades.getCourses()) {
+                DashboardSectionResponse section = sections.computeIfAbsent(course.getSectionId(),
+                        id -> new DashboardSectionResponse(id, course.getCourseCode(), course.getCourseTitle(),
+                                course.getSectionCode(), null, null));
+                section.setGrades(course);
+            }
+
+            List<DashboardSectionResponse> ordered = new ArrayList<>(sections.values());
+            ordered.sort(Comparator.comparing(DashboardSectionResponse::getCourseCode)
+                    .thenComparing(DashboardSectionResponse::getSectionCode));
+            return new DashboardResponse(ordered, grades.getGpa());
+        });
+
+        try {
+            return new Dashboard(objectMapper.writeValueAsBytes(dashboard));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render the dashboard of user " + userId, e);
+        }
+    }
+
+    /**
+     * A rendered dashboard and its entity tag, a digest of the JSON: a rebuilt dashboard with
+     * unchanged content keeps its tag, so clients keep getting 304.
+     */
+    public static class Dashboard {
+        private final byte[] json;
+
+        private final String etag;
+
+        Dashboard(byte[] json) {
+            this.json = json;
+            this.etag = "\"" + digest(json) + "\"";
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        private static String digest(byte[] json) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package educationManagementSystem.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A read-only transaction that {@link ReplicaRoutingDataSource} keeps on the primary, for reads
+ * that must see a write made just before and that a lagging replica may not have yet.
+ * {@link PrimaryReadTransactionTemplate} does the same for programmatic transactions.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface PrimaryRead {
+}
@@ -0,0 +1,34 @@
+package educationManagementSystem.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class PrimaryReadConfig {
+    // Runs outside the transaction interceptor, so the pin is set before any connection is taken
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor primaryReadAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            boolean pinned = ReplicaRoutingDataSource.pinToPrimary();
+            try {
+                return invocation.proceed();
+            } finally {
+                if (pinned) {
+                    ReplicaRoutingDataSource.unpin();
+                }
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(PrimaryRead.class), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
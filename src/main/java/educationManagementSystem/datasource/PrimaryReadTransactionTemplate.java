@@ -0,0 +1,31 @@
+package educationManagementSystem.datasource;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Read-only {@link TransactionTemplate} whose transactions stay on the primary,
+ * see {@link PrimaryRead}.
+ */
+public class PrimaryReadTransactionTemplate extends TransactionTemplate {
+    private static final long serialVersionUID = 1L;
+
+    public PrimaryReadTransactionTemplate(PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        setReadOnly(true);
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        boolean pinned = ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            return super.execute(action);
+        } finally {
+            if (pinned) {
+                ReplicaRoutingDataSource.unpin();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package educationManagementSystem.datasource;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Replaces the auto-configured pool with primary + replica pools when
+ * {@code habatoo.app.replica.urls} is set. Replicas use the primary credentials unless
+ * {@code habatoo.app.replica.username/password} are given.
+ */
+@Configuration
+@ConditionalOnProperty(name = "habatoo.app.replica.urls")
+public class ReplicaDataSourceConfig {
+
+    @Value("${habatoo.app.replica.urls}")
+    private String[] replicaUrls;
+
+    @Value("${habatoo.app.replica.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${habatoo.app.replica.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${habatoo.app.replica.maximumPoolSize:10}")
+    private int maximumPoolSize;
+
+    // short, so that reads fail over to the primary instead of waiting on a dead replica
+    @Value("${habatoo.app.replica.connectionTimeoutMs:250}")
+    private long connectionTimeoutMs;
+
+    @Value("${habatoo.app.replica.validationTimeoutSeconds:1}")
+    private int validationTimeoutSeconds;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    // The pools are deliberately not beans: every DataSource bean triggers the schema
+    // initializer, which would ask for this one while it is still being created
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(replicaUrls[i].trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            // a replica that is down must not keep the application from starting
+            config.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, validationTimeoutSeconds);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public MeterBinder replicaMeterBinder(DataSource dataSource) throws SQLException {
+        ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        return registry -> {
+            Gauge.builder("datasource.replicas.healthy", routing, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                    .description("Replicas currently receiving read-only transactions")
+                    .register(registry);
+            FunctionCounter.builder("datasource.replica.connections", routing,
+                            ReplicaRoutingDataSource::getReplicaConnectionCount)
+                    .register(registry);
+            FunctionCounter.builder("datasource.replica.fallbacks", routing,
+                            ReplicaRoutingDataSource::getFallbackCount)
+                    .description("Read-only connections served by the primary")
+                    .register(registry);
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${habatoo.app.replica.healthCheckIntervalMs:5000}")
+    public void checkReplicaHealth() {
+        if (routingDataSource != null) {
+            routingDataSource.checkHealth();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
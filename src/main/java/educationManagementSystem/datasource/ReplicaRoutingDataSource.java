@@ -0,0 +1,171 @@
+package educationManagementSystem.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections, round robin, inside read-only transactions and primary
+ * connections everywhere else. A replica that fails to give a connection or a health check is
+ * skipped until a later check succeeds; with no healthy replica reads fall back to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * JPA opens the connection before the transaction is flagged read-only. Read-only transactions
+ * run through {@link PrimaryRead} or {@link PrimaryReadTransactionTemplate} stay on the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final int validationTimeoutSeconds;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaConnections = new LongAdder();
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    int validationTimeoutSeconds) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && pinnedToPrimary.get() == null) {
+            Connection connection = replicaConnection(username, password);
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return connect(primary, username, password);
+    }
+
+    /**
+     * Sends the connections of the current thread to the primary until {@link #unpin()}.
+     *
+     * @return {@code false} when the thread was pinned already, and the caller must not unpin it
+     */
+    static boolean pinToPrimary() {
+        if (pinnedToPrimary.get() != null) {
+            return false;
+        }
+        pinnedToPrimary.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void unpin() {
+        pinnedToPrimary.remove();
+    }
+
+    /**
+     * Validates every replica and updates its state.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                logger.info("Replica {} is {}", replica.name, healthy ? "back up" : "down");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable) {
+            ((AutoCloseable) primary).close();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public long getReplicaConnectionCount() {
+        return replicaConnections.sum();
+    }
+
+    /**
+     * Read-only connections served by the primary because no replica could.
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private Connection replicaConnection(String username, String password) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = connect(replica.dataSource, username, password);
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                logger.warn("Replica {} is down: {}", replica.name, e.getMessage());
+                replica.healthy = false;
+            }
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password)
+            throws SQLException {
+        return username != null
+                ? dataSource.getConnection(username, password)
+                : dataSource.getConnection();
+    }
+
+    private static class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package educationManagementSystem.enrollment;
+
+import java.time.Instant;
+
+import educationManagementSystem.model.EnrollmentStatus;
+
+/**
+ * One change of a section, queued for the write-behind. A change without a user only updates
+ * the section counters; a user change without a status removes the enrollment row.
+ */
+final class EnrollmentChange {
+    final long sectionId;
+    final Long userId;
+    final EnrollmentStatus status;
+    final Instant requestedAt;
+    // counts after the operation that made the change, set before the change is queued
+    SectionSeats.Counts counts;
+
+    EnrollmentChange(long sectionId, Long userId, EnrollmentStatus status, Instant requestedAt) {
+        this.sectionId = sectionId;
+        this.userId = userId;
+        this.status = status;
+        this.requestedAt = requestedAt;
+    }
+}
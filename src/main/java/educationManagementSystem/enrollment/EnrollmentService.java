@@ -0,0 +1,184 @@
+package educationManagementSystem.enrollment;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import educationManagementSystem.datasource.PrimaryReadTransactionTemplate;
+import educationManagementSystem.model.Section;
+import educationManagementSystem.payload.responce.EnrollmentResponse;
+import educationManagementSystem.payload.responce.SectionResponse;
+import educationManagementSystem.repository.EnrollmentRepository;
+import educationManagementSystem.repository.SectionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Admits students to sections in memory. A section is loaded from the database on first use and
+ * from then on owned by this instance: seats are taken under the section's lock, without a
+ * database round trip, and persisted by {@link EnrollmentWriteBehind}. Admission is meant to run
+ * on a single instance. A second one would hand out the same seats again in memory, but the
+ * database refuses to store more enrolled students than seats: the rejected enrollment is
+ * dropped and the section reloaded from what was stored.
+ */
+@Service
+public class EnrollmentService {
+    @Autowired
+    SectionRepository sectionRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EnrollmentWriteBehind writeBehind;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<Long, SectionSeats> sections = new ConcurrentHashMap<>();
+
+    // sections replaced after a rejected change; their queued changes are flushed before a reload
+    private final Set<Long> rejected = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    // seats counted on a replica that lags behind could already be taken
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new PrimaryReadTransactionTemplate(transactionManager);
+        writeBehind.onRejected(this::evict);
+    }
+
+    /**
+     * Takes a seat, or a waitlist place when the section is full. Repeated calls keep the
+     * original place.
+     *
+     * @return the placement, or {@code null} when there is no such section
+     */
+    public EnrollmentResponse enroll(long sectionId, long userId) {
+        Instant now = Instant.now();
+        return withSeats(sectionId, seats -> seats.enroll(userId, now));
+    }
+
+    /**
+     * Gives up a seat or waitlist place; a freed seat goes to the head of the waitlist.
+     *
+     * @return the placement, or {@code null} when there is no such section
+     */
+    public EnrollmentResponse drop(long sectionId, long userId) {
+        return withSeats(sectionId, seats -> seats.drop(userId));
+    }
+
+    /**
+     * @return the placement, or {@code null} when there is no such section
+     */
+    public EnrollmentResponse placement(long sectionId, long userId) {
+        return withSeats(sectionId, seats -> seats.placement(userId));
+    }
+
+    /**
+     * Changes the number of seats; added seats go to the waitlist first.
+     *
+     * @return the section, or {@code null} when there is no such section
+     * @throws IllegalArgumentException when fewer seats than enrolled students are requested
+     */
+    public SectionResponse setCapacity(long sectionId, int capacity) {
+        return withSeats(sectionId, seats -> {
+            SectionSeats.Counts counts = seats.setCapacity(capacity);
+            return counts != null
+                    ? new SectionResponse(sectionId, seats.code(), counts.capacity, counts.enrolled, counts.waitlisted)
+                    : null;
+        });
+    }
+
+    /**
+     * Live counts of a loaded section, the last written snapshot otherwise.
+     */
+    public SectionResponse describe(Section section) {
+        SectionSeats seats = sections.get(section.getId());
+        if (seats == null) {
+            return new SectionResponse(section.getId(), section.getCode(), section.getCapacity(),
+                    section.getEnrolled(), section.getWaitlisted());
+        }
+        SectionSeats.Counts counts = seats.counts();
+        return new SectionResponse(section.getId(), section.getCode(), counts.capacity, counts.enrolled,
+                counts.waitlisted);
+    }
+
+    /**
+     * Drops the section from memory; the next operation loads it again. Called for sections the
+     * database rejected a change of.
+     */
+    void evict(long sectionId) {
+        sections.compute(sectionId, (id, seats) -> {
+            // retired first, so that the old instance queues nothing after the reload's flush
+            if (seats != null) {
+                seats.retire();
+            }
+            rejected.add(id);
+            evictions.incrementAndGet();
+            return null;
+        });
+    }
+
+    // Retries on the reloaded section when the one it got was retired meanwhile
+    private <T> T withSeats(long sectionId, Function<SectionSeats, T> operation) {
+        while (true) {
+            SectionSeats seats = seats(sectionId);
+            if (seats == null) {
+                return null;
+            }
+            T result = operation.apply(seats);
+            if (result != null) {
+                return result;
+            }
+        }
+    }
+
+    // Loaded outside the map: the database round trip must not hold the lock of the map's bin
+    private SectionSeats seats(long sectionId) {
+        SectionSeats seats = sections.get(sectionId);
+        while (seats == null) {
+            long generation = evictions.get();
+            if (rejected.contains(sectionId)) {
+                writeBehind.flushAll();
+            }
+            SectionSeats loaded = load(sectionId);
+            if (loaded == null) {
+                return null;
+            }
+
+            // an eviction since the load may have left it behind what the write-behind has queued
+            seats = sections.compute(sectionId, (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                if (evictions.get() != generation) {
+                    return null;
+                }
+                rejected.remove(id);
+                return loaded;
+            });
+            if (seats == loaded) {
+                loaded.fill();
+            }
+        }
+        return seats;
+    }
+
+    private SectionSeats load(long sectionId) {
+        return transactionTemplate.execute(status -> sectionRepository.findById(sectionId)
+                .map(section -> new SectionSeats(sectionId, section.getCode(), section.getCapacity(),
+                        enrollmentRepository.findBySectionId(sectionId), writeBehind::record))
+                .orElse(null));
+    }
+}
@@ -0,0 +1,236 @@
+package educationManagementSystem.enrollment;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import educationManagementSystem.model.EnrollmentId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persists seat changes in the background. A flush drains the queue, keeps only the last change
+ * of every enrollment and of every section, and writes them in one transaction of JDBC batches,
+ * so a registration spike costs a few statements per flush instead of one transaction per click.
+ * Changes not yet flushed are lost if the process dies; on shutdown the queue is drained.
+ * A {@link StudentsChangedEvent} names the students whose rows a flush has committed.
+ * <p>
+ * The database has the last word on seats: a flush locks the rows of its sections, derives the
+ * counters from the enrollment rows and a check constraint rejects more enrolled students than
+ * seats. A change the database rejects is dropped and its section handed to the rejection
+ * listener, which reloads it, so memory never keeps a seat the database does not have.
+ */
+@Component
+public class EnrollmentWriteBehind {
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentWriteBehind.class);
+
+    private static final String DELETE_ENROLLMENT =
+            "DELETE FROM enrollments WHERE section_id = ? AND user_id = ?";
+
+    private static final String INSERT_ENROLLMENT =
+            "INSERT INTO enrollments (section_id, user_id, status, requested_at) VALUES (?, ?, ?, ?)";
+
+    private static final String LOCK_SECTION = "SELECT id FROM sections WHERE id = ? FOR UPDATE";
+
+    private static final String UPDATE_SECTION = "UPDATE sections SET capacity = ?, "
+            + "enrolled = (SELECT COUNT(*) FROM enrollments WHERE section_id = ? AND status = 'ENROLLED'), "
+            + "waitlisted = (SELECT COUNT(*) FROM enrollments WHERE section_id = ? AND status = 'WAITLISTED') "
+            + "WHERE id = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${habatoo.app.enrollment.flushBatchSize:5000}")
+    private int flushBatchSize;
+
+    private final LinkedBlockingDeque<EnrollmentChange> pending = new LinkedBlockingDeque<>();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile LongConsumer rejectionListener = sectionId -> { };
+
+    // own transactions, so that a flush requested by a caller inside a transaction never joins it
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    void record(EnrollmentChange change) {
+        pending.addLast(change);
+    }
+
+    /**
+     * Sets the callback that gets the id of every section with a rejected change.
+     */
+    void onRejected(LongConsumer listener) {
+        rejectionListener = listener;
+    }
+
+    /**
+     * Writes up to one batch of queued changes.
+     *
+     * @return the number of queued changes written
+     */
+    @Scheduled(fixedDelayString = "${habatoo.app.enrollment.flushIntervalMs:200}")
+    public synchronized int flush() {
+        List<EnrollmentChange> drained = new ArrayList<>();
+        pending.drainTo(drained, flushBatchSize);
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        // the queue is in memory order, so the last change of a key is its current state
+        Map<EnrollmentId, EnrollmentChange> enrollments = new LinkedHashMap<>();
+        Map<Long, EnrollmentChange> sections = new LinkedHashMap<>();
+        for (EnrollmentChange change : drained) {
+            if (change.userId != null) {
+                enrollments.put(new EnrollmentId(change.sectionId, change.userId), change);
+            }
+            sections.put(change.sectionId, change);
+        }
+
+        try {
+            try {
+                write(enrollments.values(), sections.values());
+            } catch (DataIntegrityViolationException e) {
+                // a row that cannot be written (its user is gone, or its seat is taken by another
+                // instance) must not hold back the rest
+                writeOneByOne(enrollments.values(), sections);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Enrollment write-behind failed, {} changes will be retried: {}",
+                    drained.size(), e.getMessage());
+            for (int i = drained.size() - 1; i >= 0; i--) {
+                pending.addFirst(drained.get(i));
+            }
+            return 0;
+        }
+
+        written.add(drained.size());
+        Set<Long> students = new HashSet<>();
+        enrollments.keySet().forEach(id -> students.add(id.getUserId()));
+        if (!students.isEmpty()) {
+            eventPublisher.publishEvent(new StudentsChangedEvent(students, StudentsChangedEvent.Type.ENROLLMENT));
+        }
+        return drained.size();
+    }
+
+    /**
+     * Writes everything queued so far, including a batch a scheduled flush is writing right now.
+     */
+    @PreDestroy
+    public synchronized void flushAll() {
+        while (!pending.isEmpty() && flush() > 0) {
+            // keep draining
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void write(Collection<EnrollmentChange> enrollments, Collection<EnrollmentChange> sections) {
+        List<EnrollmentChange> present = enrollments.stream()
+                .filter(change -> change.status != null)
+                .collect(Collectors.toList());
+
+        // in id order, so that flushes of several instances cannot deadlock
+        List<Long> locked = sections.stream().map(change -> change.sectionId).sorted().collect(Collectors.toList());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long sectionId : locked) {
+                jdbcTemplate.queryForList(LOCK_SECTION, Long.class, sectionId);
+            }
+            jdbcTemplate.batchUpdate(DELETE_ENROLLMENT, enrollments, enrollments.size(), (ps, change) -> {
+                ps.setLong(1, change.sectionId);
+                ps.setLong(2, change.userId);
+            });
+            jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, present, present.size(), (ps, change) -> {
+                ps.setLong(1, change.sectionId);
+                ps.setLong(2, change.userId);
+                ps.setString(3, change.status.name());
+                ps.setTimestamp(4, Timestamp.from(change.requestedAt));
+            });
+            jdbcTemplate.batchUpdate(UPDATE_SECTION, sections, sections.size(), (ps, change) -> {
+                ps.setInt(1, change.counts.capacity);
+                ps.setLong(2, change.sectionId);
+                ps.setLong(3, change.sectionId);
+                ps.setLong(4, change.sectionId);
+            });
+        });
+    }
+
+    // Removals go first, so that a seat freed in this batch is free before it is taken again
+    private void writeOneByOne(Collection<EnrollmentChange> enrollments, Map<Long, EnrollmentChange> sections) {
+        List<EnrollmentChange> ordered = new ArrayList<>(enrollments.size());
+        enrollments.stream().filter(change -> change.status == null).forEach(ordered::add);
+        enrollments.stream().filter(change -> change.status != null).forEach(ordered::add);
+
+        for (EnrollmentChange change : ordered) {
+            try {
+                write(Collections.singletonList(change), Collections.singletonList(sections.get(change.sectionId)));
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Rejecting enrollment of user {} in section {}: {}",
+                        change.userId, change.sectionId, e.getMostSpecificCause().getMessage());
+                reject(change.sectionId);
+            }
+        }
+        for (EnrollmentChange section : sections.values()) {
+            try {
+                write(Collections.emptyList(), Collections.singletonList(section));
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Rejecting counters of section {}: {}",
+                        section.sectionId, e.getMostSpecificCause().getMessage());
+                reject(section.sectionId);
+            }
+        }
+    }
+
+    private void reject(long sectionId) {
+        rejected.increment();
+        rejectionListener.accept(sectionId);
+    }
+}
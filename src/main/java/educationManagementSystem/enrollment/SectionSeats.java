@@ -0,0 +1,201 @@
+package educationManagementSystem.enrollment;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import educationManagementSystem.model.Enrollment;
+import educationManagementSystem.model.EnrollmentStatus;
+import educationManagementSystem.payload.responce.EnrollmentResponse;
+
+/**
+ * Seats and waitlist of one section. Every change runs under the section's own monitor, so
+ * admission, waitlisting and promotion are atomic with respect to each other and the section
+ * can never be oversubscribed. The monitor is held for a few map operations only, and each change
+ * is queued for the write-behind before it is released, so the queue follows memory order.
+ * A retired instance, replaced after the database rejected one of its changes, answers every
+ * operation with {@code null} and queues nothing more.
+ */
+final class SectionSeats {
+    private final long sectionId;
+
+    private final String code;
+
+    private final Consumer<EnrollmentChange> changes;
+
+    private int capacity;
+
+    private Instant lastRequestedAt = Instant.EPOCH;
+
+    private final Map<Long, Instant> enrolled = new LinkedHashMap<>();
+
+    private final Map<Long, Instant> waitlist = new LinkedHashMap<>();
+
+    // republished after every operation for readers that do not take the monitor
+    private volatile Counts counts;
+
+    // changes of the running operation, queued once the operation is complete
+    private final List<EnrollmentChange> unpublished = new ArrayList<>();
+
+    private boolean retired;
+
+    SectionSeats(long sectionId, String code, int capacity, List<Enrollment> rows,
+                 Consumer<EnrollmentChange> changes) {
+        this.sectionId = sectionId;
+        this.code = code;
+        this.capacity = capacity;
+        this.changes = changes;
+        for (Enrollment row : rows) {
+            (row.getStatus() == EnrollmentStatus.ENROLLED ? enrolled : waitlist)
+                    .put(row.getId().getUserId(), row.getRequestedAt());
+            if (row.getRequestedAt().isAfter(lastRequestedAt)) {
+                lastRequestedAt = row.getRequestedAt();
+            }
+        }
+        counts = new Counts(capacity, enrolled.size(), waitlist.size());
+    }
+
+    synchronized EnrollmentResponse enroll(long userId, Instant now) {
+        if (retired) {
+            return null;
+        }
+        if (!enrolled.containsKey(userId) && !waitlist.containsKey(userId)) {
+            now = requestTime(now);
+            if (enrolled.size() < capacity) {
+                enrolled.put(userId, now);
+                changed(userId, EnrollmentStatus.ENROLLED, now);
+            } else {
+                waitlist.put(userId, now);
+                changed(userId, EnrollmentStatus.WAITLISTED, now);
+            }
+            publish();
+        }
+        return placement(userId);
+    }
+
+    synchronized EnrollmentResponse drop(long userId) {
+        if (retired) {
+            return null;
+        }
+        if (enrolled.remove(userId) != null) {
+            changed(userId, null, null);
+            promote();
+            publish();
+        } else if (waitlist.remove(userId) != null) {
+            changed(userId, null, null);
+            publish();
+        }
+        return placement(userId);
+    }
+
+    /**
+     * @return the counts after the change, or {@code null} when retired
+     * @throws IllegalArgumentException, leaving the section unchanged, when fewer seats than
+     * enrolled students are requested
+     */
+    synchronized Counts setCapacity(int capacity) {
+        if (retired) {
+            return null;
+        }
+        if (capacity < enrolled.size()) {
+            throw new IllegalArgumentException("Error: Capacity is below the number of enrolled students.");
+        }
+        this.capacity = capacity;
+        changed(null, null, null);
+        promote();
+        publish();
+        return counts;
+    }
+
+    /**
+     * Gives free seats to the waitlist, as loaded rows can have both after a rejected change.
+     */
+    synchronized void fill() {
+        if (!retired && !waitlist.isEmpty() && enrolled.size() < capacity) {
+            changed(null, null, null);
+            promote();
+            publish();
+        }
+    }
+
+    synchronized void retire() {
+        retired = true;
+    }
+
+    synchronized EnrollmentResponse placement(long userId) {
+        if (retired) {
+            return null;
+        }
+        if (enrolled.containsKey(userId)) {
+            return new EnrollmentResponse(sectionId, EnrollmentStatus.ENROLLED, null);
+        }
+        int position = 0;
+        for (Long waiting : waitlist.keySet()) {
+            position++;
+            if (waiting == userId) {
+                return new EnrollmentResponse(sectionId, EnrollmentStatus.WAITLISTED, position);
+            }
+        }
+        return new EnrollmentResponse(sectionId, null, null);
+    }
+
+    String code() {
+        return code;
+    }
+
+    Counts counts() {
+        return counts;
+    }
+
+    // Request times are the stored waitlist order, so they must be distinct at database precision
+    private Instant requestTime(Instant now) {
+        Instant requestedAt = now.truncatedTo(ChronoUnit.MICROS);
+        if (!requestedAt.isAfter(lastRequestedAt)) {
+            requestedAt = lastRequestedAt.plus(1, ChronoUnit.MICROS);
+        }
+        lastRequestedAt = requestedAt;
+        return requestedAt;
+    }
+
+    // First come, first served: the waitlist keeps request order
+    private void promote() {
+        Iterator<Map.Entry<Long, Instant>> next = waitlist.entrySet().iterator();
+        while (enrolled.size() < capacity && next.hasNext()) {
+            Map.Entry<Long, Instant> promoted = next.next();
+            next.remove();
+            enrolled.put(promoted.getKey(), promoted.getValue());
+            changed(promoted.getKey(), EnrollmentStatus.ENROLLED, promoted.getValue());
+        }
+    }
+
+    private void changed(Long userId, EnrollmentStatus status, Instant requestedAt) {
+        unpublished.add(new EnrollmentChange(sectionId, userId, status, requestedAt));
+    }
+
+    // Intermediate states (a seat freed but not yet given to the waitlist) are never visible
+    private void publish() {
+        counts = new Counts(capacity, enrolled.size(), waitlist.size());
+        for (EnrollmentChange change : unpublished) {
+            change.counts = counts;
+            changes.accept(change);
+        }
+        unpublished.clear();
+    }
+
+    static final class Counts {
+        final int capacity;
+        final int enrolled;
+        final int waitlisted;
+
+        Counts(int capacity, int enrolled, int waitlisted) {
+            this.capacity = capacity;
+            this.enrolled = enrolled;
+            this.waitlisted = waitlisted;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package educationManagementSystem.enrollment;
+
+import java.util.Set;
+
+/**
+ * Published when enrollments or grades of some students have changed in the database, so that
+ * views built from them can be dropped for those students only.
+ */
+public class StudentsChangedEvent {
+
+    public enum Type {
+        ENROLLMENT,
+        GRADES
+    }
+
+    private final Set<Long> userIds;
+
+    private final Type type;
+
+    public StudentsChangedEvent(Set<Long> userIds, Type type) {
+        this.userIds = userIds;
+        this.type = type;
+    }
+
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+
+    public Type getType() {
+        return type;
+    }
+}
@@ -0,0 +1,77 @@
+package educationManagementSystem.gradebook;
+
+/**
+ * Running aggregates of a set of grades, in hundredths of a point. Min and max cannot be undone
+ * when the extreme grade is replaced by a less extreme one; the stats are then marked stale and
+ * the caller recomputes them from the grade rows.
+ */
+final class GradeStats {
+    final boolean stored;
+
+    int count;
+
+    long sum;
+
+    long squareSum;
+
+    int min = Integer.MAX_VALUE;
+
+    int max = Integer.MIN_VALUE;
+
+    boolean extremesStale;
+
+    // students with grades, kept for a section only
+    int students;
+
+    GradeStats(boolean stored) {
+        this.stored = stored;
+    }
+
+    GradeStats(int count, long sum, long squareSum, int min, int max) {
+        this.stored = true;
+        this.count = count;
+        this.sum = sum;
+        this.squareSum = squareSum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @param previous the grade being replaced, {@code null} for a new one
+     */
+    void put(Integer previous, int score) {
+        if (previous == null) {
+            count++;
+        } else {
+            sum -= previous;
+            squareSum -= (long) previous * previous;
+            if (previous <= min && score > previous || previous >= max && score < previous) {
+                extremesStale = true;
+            }
+        }
+        sum += score;
+        squareSum += (long) score * score;
+        min = Math.min(min, score);
+        max = Math.max(max, score);
+    }
+
+    double average() {
+        return (double) sum / count;
+    }
+
+    static Double points(Number hundredths) {
+        return hundredths != null ? hundredths.doubleValue() / 100 : null;
+    }
+
+    static Double average(int count, long sum) {
+        return count > 0 ? (double) sum / count / 100 : null;
+    }
+
+    static Double standardDeviation(int count, long sum, long squareSum) {
+        if (count == 0) {
+            return null;
+        }
+        double mean = (double) sum / count;
+        return Math.sqrt(Math.max(0, (double) squareSum / count - mean * mean)) / 100;
+    }
+}
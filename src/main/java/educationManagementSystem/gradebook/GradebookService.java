@@ -0,0 +1,369 @@
+package educationManagementSystem.gradebook;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import educationManagementSystem.enrollment.EnrollmentService;
+import educationManagementSystem.enrollment.StudentsChangedEvent;
+import educationManagementSystem.model.EnrollmentStatus;
+import educationManagementSystem.payload.request.GradeRequest;
+import educationManagementSystem.payload.responce.CourseGradeResponse;
+import educationManagementSystem.payload.responce.EnrollmentResponse;
+import educationManagementSystem.payload.responce.GradeDashboardResponse;
+import educationManagementSystem.payload.responce.GradeUploadResponse;
+import educationManagementSystem.payload.responce.SectionGradesResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores grades together with their running aggregates per student and per section. An upload
+ * locks its section, reads only the grades it replaces and the aggregates it touches, and writes
+ * grades and new aggregates as JDBC batches in one transaction. Dashboards read the aggregate
+ * rows and never scan grades.
+ */
+@Service
+public class GradebookService {
+    private static final int IN_CHUNK = 500;
+
+    private static final String LOCK_SECTION = "SELECT id FROM sections WHERE id = ? FOR UPDATE";
+
+    private static final String SELECT_GRADES =
+            "SELECT user_id, item, score FROM grades WHERE section_id = :sectionId AND item IN (:items)";
+
+    private static final String INSERT_GRADE =
+            "INSERT INTO grades (section_id, user_id, item, score, graded_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_GRADE =
+            "UPDATE grades SET score = ?, graded_at = ? WHERE section_id = ? AND user_id = ? AND item = ?";
+
+    private static final String SELECT_STUDENT_STATS =
+            "SELECT user_id, grade_count, score_sum, score_square_sum, score_min, score_max "
+                    + "FROM grade_stats_student WHERE section_id = :sectionId AND user_id IN (:userIds)";
+
+    private static final String INSERT_STUDENT_STATS =
+            "INSERT INTO grade_stats_student (grade_count, score_sum, score_square_sum, score_min, score_max, "
+                    + "average, section_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_STUDENT_STATS =
+            "UPDATE grade_stats_student SET grade_count = ?, score_sum = ?, score_square_sum = ?, score_min = ?, "
+                    + "score_max = ?, average = ? WHERE section_id = ? AND user_id = ?";
+
+    private static final String STUDENT_EXTREMES =
+            "SELECT MIN(score), MAX(score) FROM grades WHERE section_id = ? AND user_id = ?";
+
+    private static final String SELECT_SECTION_STATS =
+            "SELECT student_count, grade_count, score_sum, score_square_sum, score_min, score_max "
+                    + "FROM grade_stats_section WHERE section_id = ?";
+
+    private static final String INSERT_SECTION_STATS =
+            "INSERT INTO grade_stats_section (student_count, grade_count, score_sum, score_square_sum, score_min, "
+                    + "score_max, section_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SECTION_STATS =
+            "UPDATE grade_stats_section SET student_count = ?, grade_count = ?, score_sum = ?, score_square_sum = ?, "
+                    + "score_min = ?, score_max = ? WHERE section_id = ?";
+
+    private static final String SELECT_GRADED_STUDENTS =
+            "SELECT user_id FROM grade_stats_student WHERE section_id = ?";
+
+    private static final String SECTION_EXTREMES =
+            "SELECT MIN(score), MAX(score) FROM grades WHERE section_id = ?";
+
+    // the rank is a range count on idx_grade_stats_student_average
+    private static final String SELECT_DASHBOARD =
+            "SELECT g.section_id, c.code AS course_code, c.title, s.code AS section_code, g.grade_count, "
+                    + "g.score_sum, g.score_square_sum, g.score_min, g.score_max, g.average, st.student_count, "
+                    + "(SELECT COUNT(*) FROM grade_stats_student r "
+                    + "WHERE r.section_id = g.section_id AND r.average > g.average) + 1 AS place "
+                    + "FROM grade_stats_student g "
+                    + "JOIN sections s ON s.id = g.section_id "
+                    + "JOIN courses c ON c.id = s.course_id "
+                    + "JOIN grade_stats_section st ON st.section_id = g.section_id "
+                    + "WHERE g.user_id = ? ORDER BY c.code, s.code";
+
+    private static final String SELECT_SECTION_SUMMARY =
+            "SELECT s.id, st.student_count, st.grade_count, st.score_sum, st.score_square_sum, st.score_min, "
+                    + "st.score_max FROM sections s LEFT JOIN grade_stats_section st ON st.section_id = s.id "
+                    + "WHERE s.id = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${habatoo.app.grades.maxUpload:10000}")
+    private int maxUpload;
+
+    /**
+     * Inserts or replaces grades of a section; a repeated student and item keeps the last score.
+     * Uploads to the same section are serialized by a lock on its row.
+     *
+     * @return the number of inserted and replaced grades, or {@code null} when there is no such
+     * section
+     * @throws IllegalArgumentException when the upload is too large or grades a student who is
+     * not enrolled in the section
+     */
+    @Transactional
+    public GradeUploadResponse upload(long sectionId, List<GradeRequest> grades) {
+        if (grades.size() > maxUpload) {
+            throw new IllegalArgumentException("Error: At most " + maxUpload + " grades can be uploaded at once.");
+        }
+        // checked before the lock is taken: placing a reloaded section flushes the write-behind,
+        // which locks the same row
+        Map<GradeKey, Integer> scores = new LinkedHashMap<>();
+        Map<Long, Boolean> enrolled = new HashMap<>();
+        for (GradeRequest grade : grades) {
+            Boolean isEnrolled = enrolled.get(grade.getUserId());
+            if (isEnrolled == null) {
+                EnrollmentResponse placement = enrollmentService.placement(sectionId, grade.getUserId());
+                if (placement == null) {
+                    return null;
+                }
+                isEnrolled = placement.getStatus() == EnrollmentStatus.ENROLLED;
+                enrolled.put(grade.getUserId(), isEnrolled);
+            }
+            if (!isEnrolled) {
+                throw new IllegalArgumentException("Error: Student " + grade.getUserId()
+                        + " is not enrolled in the section.");
+            }
+            scores.put(new GradeKey(grade.getUserId(), grade.getItem()), hundredths(grade.getScore()));
+        }
+        if (jdbcTemplate.queryForList(LOCK_SECTION, Long.class, sectionId).isEmpty()) {
+            return null;
+        }
+
+        Map<GradeKey, Integer> previous = previousScores(sectionId, scores);
+        Map<Long, GradeStats> students = studentStats(sectionId, enrolled.keySet());
+        GradeStats section = sectionStats(sectionId);
+        int newStudents = 0;
+        for (Map.Entry<GradeKey, Integer> score : scores.entrySet()) {
+            Integer replaced = previous.get(score.getKey());
+            GradeStats student = students.get(score.getKey().userId);
+            if (student == null) {
+                student = new GradeStats(false);
+                students.put(score.getKey().userId, student);
+                newStudents++;
+            }
+            student.put(replaced, score.getValue());
+            section.put(replaced, score.getValue());
+        }
+
+        writeGrades(sectionId, scores, previous);
+
+        for (Map.Entry<Long, GradeStats> student : students.entrySet()) {
+            if (student.getValue().extremesStale) {
+                readExtremes(student.getValue(), STUDENT_EXTREMES, sectionId, student.getKey());
+            }
+        }
+        if (section.extremesStale) {
+            readExtremes(section, SECTION_EXTREMES, sectionId);
+        }
+        writeStudentStats(sectionId, students);
+        writeSectionStats(sectionId, section, newStudents);
+
+        // averages moved, and with them the rank of every graded student of the section
+        eventPublisher.publishEvent(new StudentsChangedEvent(
+                new HashSet<>(jdbcTemplate.queryForList(SELECT_GRADED_STUDENTS, Long.class, sectionId)),
+                StudentsChangedEvent.Type.GRADES));
+
+        return new GradeUploadResponse(scores.size() - previous.size(), previous.size());
+    }
+
+    /**
+     * Averages, spread and rank of the student in every section with grades, and the GPA.
+     */
+    @Transactional(readOnly = true)
+    public GradeDashboardResponse dashboard(long userId) {
+        List<CourseGradeResponse> courses = jdbcTemplate.query(SELECT_DASHBOARD, (rs, rowNum) -> {
+            int count = rs.getInt("grade_count");
+            long sum = rs.getLong("score_sum");
+            return new CourseGradeResponse(rs.getLong("section_id"), rs.getString("course_code"),
+                    rs.getString("title"), rs.getString("section_code"), count,
+                    GradeStats.average(count, sum),
+                    GradeStats.standardDeviation(count, sum, rs.getLong("score_square_sum")),
+                    GradeStats.points(rs.getInt("score_min")), GradeStats.points(rs.getInt("score_max")),
+                    rs.getInt("place"), rs.getInt("student_count"));
+        }, userId);
+
+        Double gpa = courses.isEmpty()
+                ? null
+                : Math.round(courses.stream().mapToInt(course -> gradePoints(course.getAverage())).average()
+                .getAsDouble() * 100) / 100.0;
+        return new GradeDashboardResponse(gpa, courses);
+    }
+
+    /**
+     * @return the aggregates of the section, or {@code null} when there is no such section
+     */
+    @Transactional(readOnly = true)
+    public SectionGradesResponse summary(long sectionId) {
+        List<SectionGradesResponse> rows = jdbcTemplate.query(SELECT_SECTION_SUMMARY, (rs, rowNum) -> {
+            int count = rs.getInt("grade_count");
+            long sum = rs.getLong("score_sum");
+            return new SectionGradesResponse(rs.getLong("id"), rs.getInt("student_count"), count,
+                    GradeStats.average(count, sum),
+                    GradeStats.standardDeviation(count, sum, rs.getLong("score_square_sum")),
+                    GradeStats.points((Number) rs.getObject("score_min")),
+                    GradeStats.points((Number) rs.getObject("score_max")));
+        }, sectionId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Map<GradeKey, Integer> previousScores(long sectionId, Map<GradeKey, Integer> scores) {
+        List<String> items = scores.keySet().stream().map(key -> key.item).distinct().collect(Collectors.toList());
+        Map<GradeKey, Integer> previous = new HashMap<>();
+        for (int from = 0; from < items.size(); from += IN_CHUNK) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource("sectionId", sectionId)
+                    .addValue("items", items.subList(from, Math.min(from + IN_CHUNK, items.size())));
+            namedParameterJdbcTemplate.query(SELECT_GRADES, parameters, rs -> {
+                GradeKey key = new GradeKey(rs.getLong("user_id"), rs.getString("item"));
+                if (scores.containsKey(key)) {
+                    previous.put(key, hundredths(rs.getBigDecimal("score")));
+                }
+            });
+        }
+        return previous;
+    }
+
+    private Map<Long, GradeStats> studentStats(long sectionId, Set<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        Map<Long, GradeStats> stats = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource("sectionId", sectionId)
+                    .addValue("userIds", ids.subList(from, Math.min(from + IN_CHUNK, ids.size())));
+            namedParameterJdbcTemplate.query(SELECT_STUDENT_STATS, parameters, rs -> {
+                stats.put(rs.getLong("user_id"), new GradeStats(rs.getInt("grade_count"), rs.getLong("score_sum"),
+                        rs.getLong("score_square_sum"), rs.getInt("score_min"), rs.getInt("score_max")));
+            });
+        }
+        return stats;
+    }
+
+    private GradeStats sectionStats(long sectionId) {
+        List<GradeStats> rows = jdbcTemplate.query(SELECT_SECTION_STATS, (rs, rowNum) -> {
+            GradeStats stats = new GradeStats(rs.getInt("grade_count"), rs.getLong("score_sum"),
+                    rs.getLong("score_square_sum"), rs.getInt("score_min"), rs.getInt("score_max"));
+            stats.students = rs.getInt("student_count");
+            return stats;
+        }, sectionId);
+        return rows.isEmpty() ? new GradeStats(false) : rows.get(0);
+    }
+
+    private void writeGrades(long sectionId, Map<GradeKey, Integer> scores, Map<GradeKey, Integer> previous) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Map.Entry<GradeKey, Integer>> inserts = new ArrayList<>();
+        List<Map.Entry<GradeKey, Integer>> updates = new ArrayList<>();
+        for (Map.Entry<GradeKey, Integer> score : scores.entrySet()) {
+            (previous.containsKey(score.getKey()) ? updates : inserts).add(score);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_GRADE, inserts, inserts.size(), (ps, score) -> {
+            ps.setLong(1, sectionId);
+            ps.setLong(2, score.getKey().userId);
+            ps.setString(3, score.getKey().item);
+            ps.setBigDecimal(4, BigDecimal.valueOf(score.getValue(), 2));
+            ps.setTimestamp(5, now);
+        });
+        jdbcTemplate.batchUpdate(UPDATE_GRADE, updates, updates.size(), (ps, score) -> {
+            ps.setBigDecimal(1, BigDecimal.valueOf(score.getValue(), 2));
+            ps.setTimestamp(2, now);
+            ps.setLong(3, sectionId);
+            ps.setLong(4, score.getKey().userId);
+            ps.setString(5, score.getKey().item);
+        });
+    }
+
+    private void writeStudentStats(long sectionId, Map<Long, GradeStats> students) {
+        List<Map.Entry<Long, GradeStats>> inserts = new ArrayList<>();
+        List<Map.Entry<Long, GradeStats>> updates = new ArrayList<>();
+        for (Map.Entry<Long, GradeStats> student : students.entrySet()) {
+            (student.getValue().stored ? updates : inserts).add(student);
+        }
+
+        ParameterizedPreparedStatementSetter<Map.Entry<Long, GradeStats>> values = (ps, student) -> {
+            GradeStats stats = student.getValue();
+            ps.setInt(1, stats.count);
+            ps.setLong(2, stats.sum);
+            ps.setLong(3, stats.squareSum);
+            ps.setInt(4, stats.min);
+            ps.setInt(5, stats.max);
+            ps.setDouble(6, stats.average() / 100);
+            ps.setLong(7, sectionId);
+            ps.setLong(8, student.getKey());
+        };
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_STATS, inserts, inserts.size(), values);
+        jdbcTemplate.batchUpdate(UPDATE_STUDENT_STATS, updates, updates.size(), values);
+    }
+
+    private void writeSectionStats(long sectionId, GradeStats section, int newStudents) {
+        jdbcTemplate.update(section.stored ? UPDATE_SECTION_STATS : INSERT_SECTION_STATS,
+                section.students + newStudents, section.count, section.sum, section.squareSum, section.min,
+                section.max, sectionId);
+    }
+
+    private void readExtremes(GradeStats stats, String sql, Object... args) {
+        jdbcTemplate.query(sql, rs -> {
+            stats.min = hundredths(rs.getBigDecimal(1));
+            stats.max = hundredths(rs.getBigDecimal(2));
+        }, args);
+    }
+
+    private static int hundredths(BigDecimal score) {
+        return score.movePointRight(2).intValueExact();
+    }
+
+    private static int gradePoints(double average) {
+        return average >= 90 ? 4 : average >= 80 ? 3 : average >= 70 ? 2 : average >= 60 ? 1 : 0;
+    }
+
+    private static final class GradeKey {
+        final long userId;
+        final String item;
+
+        GradeKey(long userId, String item) {
+            this.userId = userId;
+            this.item = item;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GradeKey)) {
+                return false;
+            }
+            GradeKey that = (GradeKey) o;
+            return userId == that.userId && item.equals(that.item);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, item);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package educationManagementSystem.metrics;
+
+import java.util.List;
+
+import educationManagementSystem.bulkhead.Bulkhead;
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.VerifiedTokenCache;
+import educationManagementSystem.security.services.CachedUserDetailsService;
+import educationManagementSystem.security.throttle.LoginThrottle;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the counters that the auth components already keep (token and user caches,
+ * login throttle, rejected tokens, bulkheads). Values are read at scrape time, so the
+ * request path pays nothing extra for them.
+ */
+public class AuthMeterBinder implements MeterBinder {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final CachedUserDetailsService userDetailsService;
+
+    private final LoginThrottle loginThrottle;
+
+    private final JwtFailureStats jwtFailureStats;
+
+    private final List<Bulkhead> bulkheads;
+
+    public AuthMeterBinder(VerifiedTokenCache verifiedTokenCache, CachedUserDetailsService userDetailsService,
+                           LoginThrottle loginThrottle, JwtFailureStats jwtFailureStats, List<Bulkhead> bulkheads) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userDetailsService = userDetailsService;
+        this.loginThrottle = loginThrottle;
+        this.jwtFailureStats = jwtFailureStats;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.token.cache.size", verifiedTokenCache, VerifiedTokenCache::size)
+                .description("Verified tokens held in the cache")
+                .register(registry);
+        FunctionCounter.builder("auth.token.cache.requests", verifiedTokenCache, VerifiedTokenCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.token.cache.requests", verifiedTokenCache, VerifiedTokenCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+
+        Gauge.builder("auth.user.cache.size", userDetailsService, CachedUserDetailsService::size)
+                .description("User details held in the cache")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", userDetailsService, s -> s.stats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", userDetailsService, s -> s.stats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.evictions", userDetailsService,
+                        CachedUserDetailsService::getEvictionCount)
+                .register(registry);
+
+        FunctionCounter.builder("auth.login.throttled", loginThrottle, LoginThrottle::getUsernameRejectCount)
+                .tag("key", "username")
+                .register(registry);
+        FunctionCounter.builder("auth.login.throttled", loginThrottle, LoginThrottle::getAddressRejectCount)
+                .tag("key", "address")
+                .register(registry);
+        Gauge.builder("auth.login.throttle.keys", loginThrottle, LoginThrottle::getTrackedKeyCount)
+                .register(registry);
+
+        for (JwtFailureStats.Reason reason : JwtFailureStats.Reason.values()) {
+            FunctionCounter.builder("auth.token.rejected", jwtFailureStats, stats -> stats.getCount(reason))
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry);
+        }
+
+        for (Bulkhead bulkhead : bulkheads) {
+            Gauge.builder("bulkhead.limit", bulkhead, Bulkhead::getLimit)
+                    .tag("name", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("bulkhead.in.flight", bulkhead, Bulkhead::getInFlight)
+                    .tag("name", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                    .tag("name", bulkhead.getName())
+                    .register(registry);
+            FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejectedCount)
+                    .tag("name", bulkhead.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package educationManagementSystem.metrics;
+
+import educationManagementSystem.enrollment.EnrollmentWriteBehind;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the enrollment write-behind queue; a growing backlog means the database is not
+ * keeping up with seat changes, and is what a crash would lose.
+ */
+public class EnrollmentMeterBinder implements MeterBinder {
+    private final EnrollmentWriteBehind writeBehind;
+
+    public EnrollmentMeterBinder(EnrollmentWriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("enrollment.writebehind.pending", writeBehind, EnrollmentWriteBehind::getPendingCount)
+                .description("Seat changes not yet written to the database")
+                .register(registry);
+        FunctionCounter.builder("enrollment.writebehind.written", writeBehind,
+                        EnrollmentWriteBehind::getWrittenCount)
+                .register(registry);
+        FunctionCounter.builder("enrollment.writebehind.rejected", writeBehind,
+                        EnrollmentWriteBehind::getRejectedCount)
+                .description("Changes the database refused, whose sections were reloaded")
+                .register(registry);
+    }
+}
@@ -0,0 +1,41 @@
+package educationManagementSystem.metrics;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import educationManagementSystem.bulkhead.Bulkhead;
+import educationManagementSystem.enrollment.EnrollmentWriteBehind;
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.VerifiedTokenCache;
+import educationManagementSystem.security.services.CachedUserDetailsService;
+import educationManagementSystem.security.throttle.LoginThrottle;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+
+    @Bean
+    public AuthMeterBinder authMeterBinder(VerifiedTokenCache verifiedTokenCache,
+                                           CachedUserDetailsService userDetailsService,
+                                           LoginThrottle loginThrottle,
+                                           JwtFailureStats jwtFailureStats,
+                                           ObjectProvider<Bulkhead> bulkheads) {
+        List<Bulkhead> all = bulkheads.orderedStream().collect(Collectors.toList());
+        return new AuthMeterBinder(verifiedTokenCache, userDetailsService, loginThrottle, jwtFailureStats, all);
+    }
+
+    @Bean
+    public EnrollmentMeterBinder enrollmentMeterBinder(EnrollmentWriteBehind writeBehind) {
+        return new EnrollmentMeterBinder(writeBehind);
+    }
+}
@@ -0,0 +1,63 @@
+package educationManagementSystem.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every Spring Data repository call as {@code spring.data.repository.invocations},
+ * tagged with the repository, method, outcome and exception. Registered on the repository
+ * factory beans, so the listener is in place before the repository proxies are created.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+    static final String METRIC_NAME = "spring.data.repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(
+                    factory -> factory.addInvocationListener(new TimingListener()));
+        }
+        return bean;
+    }
+
+    private class TimingListener implements RepositoryMethodInvocationListener {
+        // Resolved on first use: the registry is not ready yet while repositories are being created
+        private volatile MeterRegistry registry;
+
+        @Override
+        public void afterInvocation(RepositoryMethodInvocation invocation) {
+            MeterRegistry registry = this.registry;
+            if (registry == null) {
+                registry = meterRegistry.getIfAvailable();
+                if (registry == null) {
+                    return;
+                }
+                this.registry = registry;
+            }
+
+            Throwable error = invocation.getResult().getError();
+            Timer.builder(METRIC_NAME)
+                    .description("Duration of repository invocations")
+                    .tag("repository", invocation.getRepositoryInterface().getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("state", invocation.getResult().getState().name())
+                    .tag("exception", error != null ? error.getClass().getSimpleName() : "None")
+                    .register(registry)
+                    .record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,7 +1,62 @@
 package educationManagementSystem.model;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 public enum ERole {
     ROLE_USER,
     ROLE_TEACHER,
-    ROLE_ADMIN
+    ROLE_ADMIN;
+
+    private static final Map<String, ERole> BY_NAME = new HashMap<>();
+
+    static {
+        for (ERole role : values()) {
+            BY_NAME.put(role.name(), role);
+        }
+    }
+
+    /**
+     * The bit of this role in {@link educationManagementSystem.security.services.UserDetailsImpl#getRoleMask()}.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * The role named by a granted authority, or {@code null} for any other authority.
+     */
+    public static ERole fromAuthority(String authority) {
+        return BY_NAME.get(authority);
+    }
+
+    /**
+     * Maps the role names of a registration; no names register a plain user.
+     */
+    public static Set<ERole> fromSignupNames(Collection<String> names) {
+        Set<ERole> roles = EnumSet.noneOf(ERole.class);
+        if (names == null) {
+            roles.add(ROLE_USER);
+        } else {
+            names.forEach(name -> roles.add(fromSignupName(name)));
+        }
+        return roles;
+    }
+
+    /**
+     * Maps a role name accepted at registration; any other name registers a plain user.
+     */
+    public static ERole fromSignupName(String name) {
+        switch (name.trim()) {
+            case "admin":
+                return ROLE_ADMIN;
+            case "teacher":
+                return ROLE_TEACHER;
+            default:
+                return ROLE_USER;
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package educationManagementSystem.model;
+
+import java.time.Instant;
+
+import javax.persistence.*;
+
+// Rows are written behind in JDBC batches by EnrollmentWriteBehind; the entity is read-only
+@Entity
+@Table(name = "enrollments")
+public class Enrollment {
+    @EmbeddedId
+    private EnrollmentId id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private EnrollmentStatus status;
+
+    @Column(name = "requested_at")
+    private Instant requestedAt;
+
+    public Enrollment() {
+    }
+
+    public EnrollmentId getId() {
+        return id;
+    }
+
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+}
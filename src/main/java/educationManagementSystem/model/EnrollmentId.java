@@ -0,0 +1,49 @@
+package educationManagementSystem.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@Embeddable
+public class EnrollmentId implements Serializable {
+    @Column(name = "section_id")
+    private Long sectionId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    public EnrollmentId() {
+    }
+
+    public EnrollmentId(Long sectionId, Long userId) {
+        this.sectionId = sectionId;
+        this.userId = userId;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnrollmentId)) {
+            return false;
+        }
+        EnrollmentId that = (EnrollmentId) o;
+        return Objects.equals(sectionId, that.sectionId) && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sectionId, userId);
+    }
+}
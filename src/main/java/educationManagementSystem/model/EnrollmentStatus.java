@@ -0,0 +1,6 @@
+package educationManagementSystem.model;
+
+public enum EnrollmentStatus {
+    ENROLLED,
+    WAITLISTED
+}
@@ -2,8 +2,16 @@ package educationManagementSystem.model;
 
 import javax.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+// Reference data: seeded by migration and never updated at runtime, so read-only in the cache too
 @Entity
+@Immutable
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "reference")
 public class Role {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,84 @@
+package educationManagementSystem.model;
+
+import javax.persistence.*;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+@Entity
+@Table(name = "sections",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"course_id", "code"})
+        })
+public class Section {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @NotBlank
+    @Size(max = 20)
+    private String code;
+
+    @Min(0)
+    private int capacity;
+
+    // Snapshots written behind by the enrollment service; the live counts are in memory
+    @Column(insertable = false, updatable = false)
+    private int enrolled;
+
+    @Column(insertable = false, updatable = false)
+    private int waitlisted;
+
+    public Section() {
+    }
+
+    public Section(Course course, String code, int capacity) {
+        this.course = course;
+        this.code = code;
+        this.capacity = capacity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getEnrolled() {
+        return enrolled;
+    }
+
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+}
@@ -8,15 +8,16 @@ import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 
+// username and email are unique regardless of case, through the lower-cased unique indexes of V4
 @Entity
-@Table(	name = "users",
-        uniqueConstraints = {
-                @UniqueConstraint(columnNames = "username"),
-                @UniqueConstraint(columnNames = "email")
-        })
+@Table(	name = "users")
 public class User {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled: one nextval per block of ids and the id is known before the insert, so inserts can batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -38,6 +39,10 @@ public class User {
             inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
+    // bumped in the database by every change of the roles or the password
+    @Column(name = "security_version", nullable = false)
+    private int securityVersion;
+
     public User() {
     }
 
@@ -86,4 +91,8 @@ public class User {
     public void setRoles(Set<Role> roles) {
         this.roles = roles;
     }
+
+    public int getSecurityVersion() {
+        return securityVersion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package educationManagementSystem.payload.request;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class CapacityRequest {
+    @NotNull
+    @Min(0)
+    private Integer capacity;
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,30 @@
+package educationManagementSystem.payload.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+public class CourseRequest {
+    @NotBlank
+    @Size(max = 20)
+    private String code;
+
+    @NotBlank
+    @Size(max = 120)
+    private String title;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
@@ -0,0 +1,53 @@
+package educationManagementSystem.payload.request;
+
+import java.math.BigDecimal;
+
+import javax.validation.constraints.*;
+
+public class GradeRequest {
+    @NotNull
+    private Long userId;
+
+    @NotBlank
+    @Size(max = 40)
+    private String item;
+
+    @NotNull
+    @DecimalMin("0")
+    @DecimalMax("100")
+    @Digits(integer = 3, fraction = 2)
+    private BigDecimal score;
+
+    public GradeRequest() {
+    }
+
+    public GradeRequest(Long userId, String item, BigDecimal score) {
+        this.userId = userId;
+        this.item = item;
+        this.score = score;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getItem() {
+        return item;
+    }
+
+    public void setItem(String item) {
+        this.item = item;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,19 @@
+package educationManagementSystem.payload.request;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+
+public class GradeUploadRequest {
+    @NotEmpty
+    private List<@Valid GradeRequest> grades;
+
+    public List<GradeRequest> getGrades() {
+        return grades;
+    }
+
+    public void setGrades(List<GradeRequest> grades) {
+        this.grades = grades;
+    }
+}
@@ -0,0 +1,18 @@
+package educationManagementSystem.payload.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+public class PasswordRequest {
+    @NotBlank
+    @Size(min = 6, max = 40)
+    private String password;
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
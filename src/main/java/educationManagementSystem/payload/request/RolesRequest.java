@@ -0,0 +1,18 @@
+package educationManagementSystem.payload.request;
+
+import java.util.Set;
+
+import javax.validation.constraints.NotEmpty;
+
+public class RolesRequest {
+    @NotEmpty
+    private Set<String> roles;
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+    }
+}
@@ -0,0 +1,32 @@
+package educationManagementSystem.payload.request;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class SectionRequest {
+    @NotBlank
+    @Size(max = 20)
+    private String code;
+
+    @NotNull
+    @Min(0)
+    private Integer capacity;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,125 @@
+package educationManagementSystem.payload.responce;
+
+public class CourseGradeResponse {
+    private Long sectionId;
+    private String courseCode;
+    private String courseTitle;
+    private String sectionCode;
+    private int count;
+    private Double average;
+    private Double standardDeviation;
+    private Double min;
+    private Double max;
+    private int rank;
+    private int students;
+
+    public CourseGradeResponse(Long sectionId, String courseCode, String courseTitle, String sectionCode, int count,
+                               Double average, Double standardDeviation, Double min, Double max, int rank,
+                               int students) {
+        this.sectionId = sectionId;
+        this.courseCode = courseCode;
+        this.courseTitle = courseTitle;
+        this.sectionCode = sectionCode;
+        this.count = count;
+        this.average = average;
+        this.standardDeviation = standardDeviation;
+        this.min = min;
+        this.max = max;
+        this.rank = rank;
+        this.students = students;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(Long sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public String getSectionCode() {
+        return sectionCode;
+    }
+
+    public void setSectionCode(String sectionCode) {
+        this.sectionCode = sectionCode;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    /**
+     * Population standard deviation of the student's grades.
+     */
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    /**
+     * 1-based place of the student's average in the section; equal averages share a place.
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public int getStudents() {
+        return students;
+    }
+
+    public void setStudents(int students) {
+        this.students = students;
+    }
+}
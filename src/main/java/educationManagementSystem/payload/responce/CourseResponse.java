@@ -0,0 +1,49 @@
+package educationManagementSystem.payload.responce;
+
+import java.util.List;
+
+public class CourseResponse {
+    private Long id;
+    private String code;
+    private String title;
+    private List<SectionResponse> sections;
+
+    public CourseResponse(Long id, String code, String title, List<SectionResponse> sections) {
+        this.id = id;
+        this.code = code;
+        this.title = title;
+        this.sections = sections;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public List<SectionResponse> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<SectionResponse> sections) {
+        this.sections = sections;
+    }
+}
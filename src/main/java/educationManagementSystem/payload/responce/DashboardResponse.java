@@ -0,0 +1,29 @@
+package educationManagementSystem.payload.responce;
+
+import java.util.List;
+
+public class DashboardResponse {
+    private List<DashboardSectionResponse> sections;
+    private Double gpa;
+
+    public DashboardResponse(List<DashboardSectionResponse> sections, Double gpa) {
+        this.sections = sections;
+        this.gpa = gpa;
+    }
+
+    public List<DashboardSectionResponse> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<DashboardSectionResponse> sections) {
+        this.sections = sections;
+    }
+
+    public Double getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(Double gpa) {
+        this.gpa = gpa;
+    }
+}
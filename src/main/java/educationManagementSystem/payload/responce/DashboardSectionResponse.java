@@ -0,0 +1,76 @@
+package educationManagementSystem.payload.responce;
+
+import educationManagementSystem.model.EnrollmentStatus;
+
+public class DashboardSectionResponse {
+    private Long sectionId;
+    private String courseCode;
+    private String courseTitle;
+    private String sectionCode;
+    private EnrollmentStatus status;
+    private CourseGradeResponse grades;
+
+    public DashboardSectionResponse(Long sectionId, String courseCode, String courseTitle, String sectionCode,
+                                    EnrollmentStatus status, CourseGradeResponse grades) {
+        this.sectionId = sectionId;
+        this.courseCode = courseCode;
+        this.courseTitle = courseTitle;
+        this.sectionCode = sectionCode;
+        this.status = status;
+        this.grades = grades;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(Long sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public String getSectionCode() {
+        return sectionCode;
+    }
+
+    public void setSectionCode(String sectionCode) {
+        this.sectionCode = sectionCode;
+    }
+
+    /**
+     * {@code null} for a section the student has left but was graded in.
+     */
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EnrollmentStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * {@code null} before the first grade.
+     */
+    public CourseGradeResponse getGrades() {
+        return grades;
+    }
+
+    public void setGrades(CourseGradeResponse grades) {
+        this.grades = grades;
+    }
+}
@@ -0,0 +1,45 @@
+package educationManagementSystem.payload.responce;
+
+import educationManagementSystem.model.EnrollmentStatus;
+
+public class EnrollmentResponse {
+    private Long sectionId;
+    private EnrollmentStatus status;
+    private Integer waitlistPosition;
+
+    public EnrollmentResponse(Long sectionId, EnrollmentStatus status, Integer waitlistPosition) {
+        this.sectionId = sectionId;
+        this.status = status;
+        this.waitlistPosition = waitlistPosition;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(Long sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    /**
+     * {@code null} when the student holds neither a seat nor a waitlist place.
+     */
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EnrollmentStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * 1-based place in the waitlist, {@code null} unless waitlisted.
+     */
+    public Integer getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    public void setWaitlistPosition(Integer waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
+}
@@ -0,0 +1,33 @@
+package educationManagementSystem.payload.responce;
+
+import java.util.List;
+
+public class GradeDashboardResponse {
+    private Double gpa;
+    private List<CourseGradeResponse> courses;
+
+    public GradeDashboardResponse(Double gpa, List<CourseGradeResponse> courses) {
+        this.gpa = gpa;
+        this.courses = courses;
+    }
+
+    /**
+     * Mean grade point over the courses: 4 for an average of 90 and above, 3 from 80, 2 from 70,
+     * 1 from 60 and 0 below; {@code null} without grades.
+     */
+    public Double getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(Double gpa) {
+        this.gpa = gpa;
+    }
+
+    public List<CourseGradeResponse> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<CourseGradeResponse> courses) {
+        this.courses = courses;
+    }
+}
@@ -0,0 +1,27 @@
+package educationManagementSystem.payload.responce;
+
+public class GradeUploadResponse {
+    private int inserted;
+    private int updated;
+
+    public GradeUploadResponse(int inserted, int updated) {
+        this.inserted = inserted;
+        this.updated = updated;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,84 @@
+package educationManagementSystem.payload.responce;
+
+public class SectionGradesResponse {
+    private Long sectionId;
+    private int students;
+    private int count;
+    private Double average;
+    private Double standardDeviation;
+    private Double min;
+    private Double max;
+
+    public SectionGradesResponse(Long sectionId, int students, int count, Double average, Double standardDeviation,
+                                 Double min, Double max) {
+        this.sectionId = sectionId;
+        this.students = students;
+        this.count = count;
+        this.average = average;
+        this.standardDeviation = standardDeviation;
+        this.min = min;
+        this.max = max;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(Long sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    public int getStudents() {
+        return students;
+    }
+
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    /**
+     * Mean of all grades of the section, {@code null} before the first grade.
+     */
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    /**
+     * Population standard deviation of the grades.
+     */
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+}
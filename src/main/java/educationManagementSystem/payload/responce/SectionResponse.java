@@ -0,0 +1,57 @@
+package educationManagementSystem.payload.responce;
+
+public class SectionResponse {
+    private Long id;
+    private String code;
+    private int capacity;
+    private int enrolled;
+    private int waitlisted;
+
+    public SectionResponse(Long id, String code, int capacity, int enrolled, int waitlisted) {
+        this.id = id;
+        this.code = code;
+        this.capacity = capacity;
+        this.enrolled = enrolled;
+        this.waitlisted = waitlisted;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+
+    public void setWaitlisted(int waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+}
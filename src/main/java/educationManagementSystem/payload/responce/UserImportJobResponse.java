@@ -0,0 +1,70 @@
+package educationManagementSystem.payload.responce;
+
+public class UserImportJobResponse {
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private String id;
+    private Status status;
+    private int processed;
+    private UserImportResponse result;
+    private String message;
+
+    public UserImportJobResponse(String id, Status status, int processed, UserImportResponse result, String message) {
+        this.id = id;
+        this.status = status;
+        this.processed = processed;
+        this.result = result;
+        this.message = message;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Rows read so far; the batches they belong to are committed.
+     */
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    /**
+     * The report of a finished import, {@code null} before.
+     */
+    public UserImportResponse getResult() {
+        return result;
+    }
+
+    public void setResult(UserImportResponse result) {
+        this.result = result;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,42 @@
+package educationManagementSystem.payload.responce;
+
+import java.util.List;
+
+public class UserImportResponse {
+    private int imported;
+    private int rejected;
+    private List<UserImportRowResponse> rows;
+
+    public UserImportResponse(int imported, int rejected, List<UserImportRowResponse> rows) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.rows = rows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * One entry per input row, in input order.
+     */
+    public List<UserImportRowResponse> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<UserImportRowResponse> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,55 @@
+package educationManagementSystem.payload.responce;
+
+public class UserImportRowResponse {
+    public enum Status {
+        IMPORTED,
+        REJECTED
+    }
+
+    private int line;
+    private String username;
+    private Status status;
+    private String message;
+
+    public UserImportRowResponse(int line, String username, Status status, String message) {
+        this.line = line;
+        this.username = username;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Line number in the uploaded document, the CSV header being line 1.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
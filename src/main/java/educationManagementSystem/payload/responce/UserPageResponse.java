@@ -0,0 +1,32 @@
+package educationManagementSystem.payload.responce;
+
+import java.util.List;
+
+public class UserPageResponse {
+    private List<UserSummaryResponse> users;
+    private Long nextAfterId;
+
+    public UserPageResponse(List<UserSummaryResponse> users, Long nextAfterId) {
+        this.users = users;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<UserSummaryResponse> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserSummaryResponse> users) {
+        this.users = users;
+    }
+
+    /**
+     * Value of {@code afterId} for the next page, {@code null} on the last page.
+     */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
@@ -0,0 +1,9 @@
+package educationManagementSystem.repository;
+
+import educationManagementSystem.model.Course;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseRepository extends JpaRepository<Course, Long> {
+}
@@ -0,0 +1,17 @@
+package educationManagementSystem.repository;
+
+import java.util.List;
+
+import educationManagementSystem.model.Enrollment;
+import educationManagementSystem.model.EnrollmentId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, EnrollmentId> {
+    // Request order, which is also the waitlist order
+    @Query("select e from Enrollment e where e.id.sectionId = :sectionId order by e.requestedAt, e.id.userId")
+    List<Enrollment> findBySectionId(@Param("sectionId") Long sectionId);
+}
@@ -1,13 +1,22 @@
 package educationManagementSystem.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import educationManagementSystem.model.ERole;
 import educationManagementSystem.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Integer> {
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(ERole name);
+
+    @Override
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
 }
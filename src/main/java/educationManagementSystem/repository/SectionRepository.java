@@ -0,0 +1,14 @@
+package educationManagementSystem.repository;
+
+import java.util.List;
+
+import educationManagementSystem.model.Section;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SectionRepository extends JpaRepository<Section, Long> {
+    @Query("select s from Section s join fetch s.course c order by c.code, s.code")
+    List<Section> findAllWithCourse();
+}
@@ -0,0 +1,8 @@
+package educationManagementSystem.repository;
+
+/**
+ * One row of the export cursor: the user columns repeated for each of the user's roles,
+ * {@code role} is {@code null} for a user without roles. Rows of a user are adjacent.
+ */
+public interface UserExportView extends UserSummaryView, UserRoleView {
+}
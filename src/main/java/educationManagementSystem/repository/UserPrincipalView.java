@@ -0,0 +1,21 @@
+package educationManagementSystem.repository;
+
+import educationManagementSystem.model.ERole;
+
+/**
+ * One row of {@link UserRepository#findPrincipalByUsername}: the user columns repeated for each
+ * of the user's roles, {@code role} is {@code null} for a user without roles.
+ */
+public interface UserPrincipalView {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getPassword();
+
+    int getSecurityVersion();
+
+    ERole getRole();
+}
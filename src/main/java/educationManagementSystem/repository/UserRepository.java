@@ -1,9 +1,20 @@
 package educationManagementSystem.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import educationManagementSystem.model.ERole;
 import educationManagementSystem.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,7 +22,61 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findById(Integer userId);
     Optional<User> findByUsername(String username);
 
-    Boolean existsByUsername(String username);
-    Boolean existsByEmail(String email);
+    // Principal in a single round trip, without managed User/Role entities
+    @Query("select u.id as id, u.username as username, u.email as email, u.password as password, "
+            + "u.securityVersion as securityVersion, r.name as role "
+            + "from User u left join u.roles r where u.username = :username")
+    List<UserPrincipalView> findPrincipalByUsername(@Param("username") String username);
+
+    @Query("select u.securityVersion from User u where u.id = :id")
+    Integer findSecurityVersion(@Param("id") long id);
+
+    // lower(..) matches the case-insensitive unique indexes of the users table
+    @Query("select count(u) > 0 from User u where lower(u.username) = lower(:username)")
+    Boolean existsByUsername(@Param("username") String username);
+
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+    Boolean existsByEmail(@Param("email") String email);
+
+    // Set-based duplicate checks for bulk imports: callers pass lower-cased values
+    @Query("select lower(u.username) from User u where lower(u.username) in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select lower(u.email) from User u where lower(u.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset pages: callers pass PageRequest.of(0, size), so no OFFSET is ever generated
+    @Query("select u.id as id, u.username as username, u.email as email from User u "
+            + "where u.id > :afterId order by u.id")
+    List<UserSummaryView> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u join u.roles r "
+            + "where r.name = :role and u.id > :afterId order by u.id")
+    List<UserSummaryView> findPageAfterByRole(@Param("afterId") long afterId, @Param("role") ERole role,
+                                              Pageable pageable);
+
+    @Query("select u.id as id, r.name as role from User u join u.roles r where u.id in :ids")
+    List<UserRoleView> findRolesByUserIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u.id as id, u.username as username, u.email as email, r.name as role "
+            + "from User u left join u.roles r order by u.id")
+    Stream<UserExportView> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u.id as id, u.username as username, u.email as email, r.name as role "
+            + "from User u left join u.roles r "
+            + "where exists (select f.id from User f join f.roles fr where f.id = u.id and fr.name = :role) "
+            + "order by u.id")
+    Stream<UserExportView> streamByRoleForExport(@Param("role") ERole role);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    // Flushes first, so that pending changes of the user's roles are written before the bump
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.securityVersion = u.securityVersion + 1 where u.id = :id")
+    int bumpSecurityVersion(@Param("id") long id);
 
 }
@@ -0,0 +1,9 @@
+package educationManagementSystem.repository;
+
+import educationManagementSystem.model.ERole;
+
+public interface UserRoleView {
+    Long getId();
+
+    ERole getRole();
+}
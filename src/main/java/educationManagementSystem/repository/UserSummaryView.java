@@ -0,0 +1,12 @@
+package educationManagementSystem.repository;
+
+/**
+ * User columns listed to admins; never carries the password hash.
+ */
+public interface UserSummaryView {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
@@ -0,0 +1,38 @@
+package educationManagementSystem.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds the password encoder of the servlet and the reactive application, so that both store
+ * and accept the same hashes.
+ */
+public final class PasswordEncoderFactory {
+    private static final String BCRYPT = "bcrypt";
+
+    private PasswordEncoderFactory() {
+    }
+
+    /**
+     * @param strength fixed BCrypt cost; 0 calibrates the cost against {@code targetMillis}
+     */
+    public static PasswordEncoder create(int strength, long targetMillis, int minStrength, int maxStrength,
+                                         MeterRegistry meterRegistry) {
+        int cost = strength > 0
+                ? strength
+                : PasswordHashCalibrator.calibrate(targetMillis, minStrength, maxStrength).getStrength();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(cost));
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, encoders);
+        // Hashes stored before ids were introduced are plain BCrypt and get rehashed on next login
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(cost));
+        return new TimedPasswordEncoder(encoder, meterRegistry);
+    }
+}
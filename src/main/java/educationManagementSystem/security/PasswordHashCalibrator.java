@@ -0,0 +1,86 @@
+package educationManagementSystem.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Measures BCrypt on the current hardware and picks the highest cost factor whose hashing time
+ * stays within the configured target latency. The measured table is logged as login throughput
+ * per core for every cost factor tried.
+ */
+public class PasswordHashCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private static final int SAMPLES = 3;
+
+    public static class Result {
+        private final int strength;
+
+        private final Map<Integer, Double> millisPerHash;
+
+        Result(int strength, Map<Integer, Double> millisPerHash) {
+            this.strength = strength;
+            this.millisPerHash = millisPerHash;
+        }
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public Map<Integer, Double> getMillisPerHash() {
+            return millisPerHash;
+        }
+
+        public double getLoginsPerSecondPerCore(int strength) {
+            return 1000.0 / millisPerHash.get(strength);
+        }
+    }
+
+    public static Result calibrate(long targetMillis, int minStrength, int maxStrength) {
+        Map<Integer, Double> millisPerHash = new LinkedHashMap<>();
+        int chosen = minStrength;
+
+        // Warm up the JIT so the first measured cost factor is not penalized
+        measure(minStrength);
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            double millis = measure(strength);
+            millisPerHash.put(strength, millis);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+
+        Result result = new Result(chosen, millisPerHash);
+        for (Integer strength : millisPerHash.keySet()) {
+            logger.info("BCrypt cost {}: {} ms per hash, {} logins/s per core{}",
+                    strength,
+                    String.format("%.1f", millisPerHash.get(strength)),
+                    String.format("%.1f", result.getLoginsPerSecondPerCore(strength)),
+                    strength == chosen ? " (selected)" : "");
+        }
+        return result;
+    }
+
+    private static double measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            encoder.matches(SAMPLE_PASSWORD, hash);
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / SAMPLES;
+    }
+
+    public static void main(String[] args) {
+        long target = args.length > 0 ? Long.parseLong(args[0]) : 100;
+        calibrate(target, 4, 16);
+    }
+}
@@ -1,8 +1,9 @@
 package educationManagementSystem.security;
 
 import educationManagementSystem.security.jwt.AuthTokenFilter;
-import educationManagementSystem.security.services.UserDetailsServiceImpl;
+import educationManagementSystem.security.services.CachedUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,12 +13,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import educationManagementSystem.security.jwt.AuthEntryPointJwt;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(
@@ -26,11 +28,27 @@ import educationManagementSystem.security.jwt.AuthEntryPointJwt;
         prePostEnabled = true)
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
-    UserDetailsServiceImpl userDetailsService;
+    CachedUserDetailsService userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Fixed BCrypt cost; 0 calibrates the cost against passwordHashTargetMs at startup
+    @Value("${habatoo.app.passwordStrength:0}")
+    private int passwordStrength;
+
+    @Value("${habatoo.app.passwordHashTargetMs:100}")
+    private long passwordHashTargetMs;
+
+    @Value("${habatoo.app.passwordMinStrength:10}")
+    private int passwordMinStrength;
+
+    @Value("${habatoo.app.passwordMaxStrength:14}")
+    private int passwordMaxStrength;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -49,7 +67,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return PasswordEncoderFactory.create(passwordStrength, passwordHashTargetMs, passwordMinStrength,
+                passwordMaxStrength, meterRegistry);
     }
 
     @Override
@@ -57,8 +76,10 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         http.cors().and().csrf().disable()
                 .exceptionHandling().authenticationEntryPoint(unauthorizedHandler).and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
-                .authorizeRequests().antMatchers("/api/auth/**").permitAll()
+                .authorizeRequests().antMatchers("/api/auth/logout").authenticated()
+                .antMatchers("/api/auth/**").permitAll()
                 .antMatchers("/api/test/**").permitAll()
+                .antMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated();
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
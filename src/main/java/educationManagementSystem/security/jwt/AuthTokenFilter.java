@@ -1,41 +1,115 @@
 package educationManagementSystem.security.jwt;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import educationManagementSystem.security.services.UserDetailsServiceImpl;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import educationManagementSystem.security.services.CachedUserDetailsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private JwtFailureStats jwtFailureStats;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer parseTimer;
+    private Timer verifiedTimer;
+    private Timer rejectedTimer;
+    private Timer revokedTimer;
+    private Timer claimsLoadTimer;
+    private Timer databaseLoadTimer;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // Routes that are permitAll in WebSecurityConfig and never look at the principal
+    @Value("${habatoo.app.jwtSkipPaths:/api/auth/login,/api/auth/register,/api/auth/refresh,/api/test/all,"
+            + "/actuator/health,/actuator/prometheus}")
+    private String[] skipPaths;
+
+    // Timers are resolved once so the per-request cost is two nanoTime calls per phase
+    @PostConstruct
+    public void initMetrics() {
+        parseTimer = Timer.builder("auth.filter.parse")
+                .description("Extracting the bearer token from the request")
+                .register(meterRegistry);
+        verifiedTimer = phaseTimer("auth.filter.verify", "outcome", "verified");
+        rejectedTimer = phaseTimer("auth.filter.verify", "outcome", "rejected");
+        revokedTimer = phaseTimer("auth.filter.verify", "outcome", "revoked");
+        claimsLoadTimer = phaseTimer("auth.filter.load", "source", "claims");
+        databaseLoadTimer = phaseTimer("auth.filter.load", "source", "database");
+    }
+
+    private Timer phaseTimer(String name, String tag, String value) {
+        return Timer.builder(name).tag(tag, value).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (String pattern : skipPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
+            long start = System.nanoTime();
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            long parsed = System.nanoTime();
+            parseTimer.record(parsed - start, TimeUnit.NANOSECONDS);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = null;
+            if (jwt != null) {
+                claims = jwtUtils.parseAndVerify(jwt);
+                Timer verifyTimer = claims != null ? verifiedTimer : rejectedTimer;
+                if (claims != null && tokenDenylist.isRevoked(claims)) {
+                    jwtFailureStats.record(JwtFailureStats.Reason.REVOKED);
+                    claims = null;
+                    verifyTimer = revokedTimer;
+                }
+                verifyTimer.record(System.nanoTime() - parsed, TimeUnit.NANOSECONDS);
+            }
+            if (claims != null) {
+                UserDetails userDetails = loadUserDetails(claims);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -49,6 +123,22 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails loadUserDetails(Claims claims) {
+        long start = System.nanoTime();
+        if (jwtUtils.isSecurityVersionCurrent(claims)) {
+            UserDetailsImpl userDetails = UserDetailsImpl.build(claims);
+            if (userDetails != null) {
+                claimsLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return userDetails;
+            }
+        }
+
+        // Tokens issued before a role or password change fall back to the database
+        UserDetails userDetails = userDetailsService.loadPrincipal(claims.getSubject());
+        databaseLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,95 @@
+package educationManagementSystem.security.jwt;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts rejected tokens per failure reason and writes at most one aggregated log line per
+ * interval, so a client flooding us with bad tokens cannot flood the logs as well.
+ */
+@Component
+public class JwtFailureStats {
+    private static final Logger logger = LoggerFactory.getLogger(JwtFailureStats.class);
+
+    public enum Reason {
+        EMPTY,
+        MALFORMED,
+        EXPIRED,
+        SIGNATURE,
+        UNSUPPORTED,
+        REVOKED
+    }
+
+    private static final Reason[] REASONS = Reason.values();
+
+    private final LongAdder[] totals = new LongAdder[REASONS.length];
+
+    private final LongAdder[] pending = new LongAdder[REASONS.length];
+
+    private final AtomicLong lastLogMillis = new AtomicLong();
+
+    private volatile String lastMessage;
+
+    @Value("${habatoo.app.jwtFailureLogIntervalMs:60000}")
+    private long logIntervalMs = 60000;
+
+    public JwtFailureStats() {
+        for (int i = 0; i < REASONS.length; i++) {
+            totals[i] = new LongAdder();
+            pending[i] = new LongAdder();
+        }
+    }
+
+    public void record(Reason reason) {
+        record(reason, null);
+    }
+
+    public void record(Reason reason, String message) {
+        totals[reason.ordinal()].increment();
+        pending[reason.ordinal()].increment();
+        if (message != null) {
+            lastMessage = message;
+        }
+
+        long now = System.currentTimeMillis();
+        long last = lastLogMillis.get();
+        if (now - last >= logIntervalMs && lastLogMillis.compareAndSet(last, now)) {
+            flush();
+        }
+    }
+
+    public long getCount(Reason reason) {
+        return totals[reason.ordinal()].sum();
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (LongAdder counter : totals) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    private void flush() {
+        Map<Reason, Long> counts = new EnumMap<>(Reason.class);
+        long total = 0;
+        for (Reason reason : REASONS) {
+            long count = pending[reason.ordinal()].sumThenReset();
+            if (count > 0) {
+                counts.put(reason, count);
+                total += count;
+            }
+        }
+
+        if (total > 0) {
+            logger.warn("Rejected {} invalid JWT tokens {}, last error: {}", total, counts, lastMessage);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package educationManagementSystem.security.jwt;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Signing keys materialized once at startup. New tokens are signed with the active key and
+ * carry its id in the {@code kid} header; retired keys are kept for verification only, so
+ * secrets can be rotated without invalidating live tokens.
+ */
+@Component
+public class JwtKeyRing {
+
+    static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS512;
+
+    @Value("${habatoo.app.jwtSecret}")
+    private String jwtSecret;
+
+    @Value("${habatoo.app.jwtKeyId:primary}")
+    private String jwtKeyId;
+
+    // Comma separated "kid:secret" pairs of keys that still verify but no longer sign
+    @Value("${habatoo.app.jwtRetiredKeys:}")
+    private String jwtRetiredKeys;
+
+    private Map<String, SecretKey> keys;
+
+    private SecretKey activeKey;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        Map<String, SecretKey> ring = new HashMap<>();
+        if (StringUtils.hasText(jwtRetiredKeys)) {
+            for (String entry : jwtRetiredKeys.split(",")) {
+                int separator = entry.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalStateException("Error: retired JWT key must be in kid:secret form.");
+                }
+                ring.put(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        activeKey = toKey(jwtSecret);
+        ring.put(jwtKeyId, activeKey);
+        keys = Collections.unmodifiableMap(ring);
+
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public String getActiveKeyId() {
+        return jwtKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return activeKey;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    /**
+     * Immutable, thread-safe parser shared by all requests.
+     */
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    private Key resolve(String keyId) {
+        // Tokens issued before key ids were introduced are signed with the active secret
+        if (keyId == null) {
+            return activeKey;
+        }
+
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        byte[] bytes = Decoders.BASE64.decode(secret);
+        if (bytes.length * 8 < ALGORITHM.getMinKeyLength()) {
+            throw new IllegalStateException("Error: JWT secret must be a Base64 value of at least "
+                    + ALGORITHM.getMinKeyLength() / 8 + " bytes for " + ALGORITHM.getValue() + ".");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+}
@@ -1,58 +1,205 @@
 package educationManagementSystem.security.jwt;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
+import educationManagementSystem.security.services.SecurityVersionRegistry;
 import educationManagementSystem.security.services.UserDetailsImpl;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.*;
 
 @Component
 public class JwtUtils {
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_VERSION = "ver";
 
-    @Value("${habatoo.app.jwtSecret}")
-    private String jwtSecret;
+    private static final int MAX_TOKEN_LENGTH = 8192;
 
     @Value("${habatoo.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private SecurityVersionRegistry securityVersionRegistry;
+
+    @Autowired
+    private JwtFailureStats jwtFailureStats;
+
     public String generateJwtToken(Authentication authentication) {
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyRing.getActiveKeyId())
+                .setId(newTokenId())
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_VERSION, userPrincipal.getSecurityVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(jwtKeyRing.getActiveKey(), jwtKeyRing.getAlgorithm())
                 .compact();
     }
 
+    // Token ids only need to be unique, the signature already protects them
+    private static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
+        return verify(token).getSubject();
+    }
+
+    /**
+     * Checks the security version carried by the token against {@link SecurityVersionRegistry},
+     * so principals built from claims of outdated tokens are not trusted.
+     */
+    public boolean isSecurityVersionCurrent(Claims claims) {
+        Object id = claims.get(CLAIM_ID);
+        Object version = claims.get(CLAIM_VERSION);
+        return id instanceof Number && version instanceof Number
+                && securityVersionRegistry.isCurrent(((Number) id).longValue(), ((Number) version).intValue());
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseAndVerify(authToken) != null;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if the token is invalid.
+     * Tokens that were already verified are served from {@link VerifiedTokenCache} without
+     * any signature work; malformed and expired ones are rejected before it.
+     */
+    public Claims parseAndVerify(String authToken) {
+        JwtFailureStats.Reason rejected = checkStructure(authToken);
+        if (rejected == null) {
+            Claims cached = verifiedTokenCache.get(authToken);
+            if (cached != null) {
+                return cached;
+            }
+            rejected = checkExpiration(authToken);
+        }
+        if (rejected != null) {
+            jwtFailureStats.record(rejected);
+            return null;
+        }
+
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            return parseAndCache(authToken);
         } catch (SignatureException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            jwtFailureStats.record(JwtFailureStats.Reason.SIGNATURE, e.getMessage());
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            jwtFailureStats.record(JwtFailureStats.Reason.MALFORMED, e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            jwtFailureStats.record(JwtFailureStats.Reason.EXPIRED, e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            jwtFailureStats.record(JwtFailureStats.Reason.UNSUPPORTED, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            jwtFailureStats.record(JwtFailureStats.Reason.EMPTY, e.getMessage());
+        }
+
+        return null;
+    }
+
+    private Claims verify(String token) {
+        if (token != null && checkStructure(token) == null) {
+            Claims cached = verifiedTokenCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        return parseAndCache(token);
+    }
+
+    private Claims parseAndCache(String token) {
+        Claims claims = jwtKeyRing.getParser().parseClaimsJws(token).getBody();
+        verifiedTokenCache.put(token, claims);
+        return claims;
+    }
+
+    /**
+     * Allocation-free check that the token is a compact JWS: three base64url parts.
+     */
+    static JwtFailureStats.Reason checkStructure(String token) {
+        if (token == null || token.isEmpty()) {
+            return JwtFailureStats.Reason.EMPTY;
+        }
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            return JwtFailureStats.Reason.MALFORMED;
+        }
+
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_')) {
+                return JwtFailureStats.Reason.MALFORMED;
+            }
+        }
+        return dots == 2 ? null : JwtFailureStats.Reason.MALFORMED;
+    }
+
+    /**
+     * Reads {@code exp} from the unverified payload, so expired tokens are rejected without
+     * signature work. The signature is still verified for tokens that pass.
+     */
+    static JwtFailureStats.Reason checkExpiration(String token) {
+        int payloadStart = token.indexOf('.') + 1;
+        int payloadEnd = token.indexOf('.', payloadStart);
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd)),
+                    StandardCharsets.UTF_8);
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            return JwtFailureStats.Reason.MALFORMED;
+        }
+
+        int key = payload.indexOf("\"exp\"");
+        if (key < 0) {
+            return null;
+        }
+
+        int i = key + 5;
+        while (i < payload.length() && (payload.charAt(i) == ':' || Character.isWhitespace(payload.charAt(i)))) {
+            i++;
+        }
+        long exp = 0;
+        int digits = 0;
+        while (i < payload.length() && Character.isDigit(payload.charAt(i)) && digits < 16) {
+            exp = exp * 10 + (payload.charAt(i++) - '0');
+            digits++;
         }
 
-        return false;
+        return digits > 0 && exp * 1000 <= System.currentTimeMillis() ? JwtFailureStats.Reason.EXPIRED : null;
     }
 }
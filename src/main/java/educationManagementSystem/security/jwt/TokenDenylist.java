@@ -0,0 +1,141 @@
+package educationManagementSystem.security.jwt;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Revoked access tokens, by token id ({@code jti}) and by user ("every token issued before").
+ * Two Bloom filter generations, each spanning one token lifetime, answer the common
+ * "not revoked" case without allocation; only possible hits consult the exact stores, whose
+ * entries expire together with the tokens they revoke. Memory is bounded by the filter size
+ * and the exact store size, not by the number of issued tokens.
+ */
+@Component
+public class TokenDenylist {
+
+    @Value("${habatoo.app.jwtExpirationMs}")
+    private long windowMs;
+
+    @Value("${habatoo.app.denylist.expectedEntries:100000}")
+    private long expectedEntries;
+
+    @Value("${habatoo.app.denylist.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${habatoo.app.denylist.maxEntries:1000000}")
+    private long maxEntries;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter previous;
+
+    private volatile long generationStartMillis;
+
+    private Cache<String, Long> revokedTokens;
+
+    private Cache<Long, Long> revokedUsers;
+
+    @PostConstruct
+    public void init() {
+        current = new BloomFilter(expectedEntries, falsePositiveRate);
+        previous = new BloomFilter(expectedEntries, falsePositiveRate);
+        generationStartMillis = System.currentTimeMillis();
+
+        revokedTokens = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        // A cutoff only matters while tokens issued before it can still be alive
+        revokedUsers = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(windowMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public void revokeToken(String tokenId, Date expiration) {
+        if (tokenId == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokens.put(tokenId, expiration.getTime());
+        generation().put(tokenId);
+    }
+
+    /**
+     * Revokes every token of the user issued up to now. Token {@code iat} has second precision,
+     * so tokens issued later within the same second are revoked as well.
+     */
+    public void revokeUser(Long userId) {
+        revokedUsers.asMap().merge(userId, System.currentTimeMillis(), Math::max);
+        generation().put(userId);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        rotateIfNeeded();
+        BloomFilter current = this.current;
+        BloomFilter previous = this.previous;
+
+        String tokenId = claims.getId();
+        if (tokenId != null && (current.mightContain(tokenId) || previous.mightContain(tokenId))
+                && revokedTokens.getIfPresent(tokenId) != null) {
+            return true;
+        }
+
+        Number userId = claims.get(JwtUtils.CLAIM_ID, Number.class);
+        if (userId != null && (current.mightContain(userId.longValue()) || previous.mightContain(userId.longValue()))) {
+            Long cutoff = revokedUsers.getIfPresent(userId.longValue());
+            Date issuedAt = claims.getIssuedAt();
+            return cutoff != null && (issuedAt == null || issuedAt.getTime() <= cutoff);
+        }
+        return false;
+    }
+
+    public long getRevokedTokenCount() {
+        return revokedTokens.estimatedSize();
+    }
+
+    private BloomFilter generation() {
+        rotateIfNeeded();
+        return current;
+    }
+
+    // Entries stay in "current" or "previous" for at least one window, i.e. one token lifetime
+    private void rotateIfNeeded() {
+        long now = System.currentTimeMillis();
+        if (now - generationStartMillis < windowMs) {
+            return;
+        }
+        synchronized (this) {
+            if (now - generationStartMillis >= windowMs) {
+                previous = current;
+                current = new BloomFilter(expectedEntries, falsePositiveRate);
+                generationStartMillis = now;
+            }
+        }
+    }
+}
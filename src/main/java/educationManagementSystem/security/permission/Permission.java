@@ -0,0 +1,41 @@
+package educationManagementSystem.security.permission;
+
+/**
+ * Fine-grained permissions granted to roles through the role_permissions table.
+ * Each permission is one bit of a {@code long}, so there can be at most 64 of them.
+ */
+public enum Permission {
+    USER_BOARD_VIEW,
+    TEACHER_BOARD_VIEW,
+    ADMIN_BOARD_VIEW,
+    COURSE_VIEW,
+    COURSE_MANAGE,
+    ENROLLMENT_SELF,
+    GRADE_MANAGE,
+    GRADE_VIEW_OWN,
+    DASHBOARD_VIEW,
+    USER_LIST,
+    USER_EXPORT,
+    USER_IMPORT,
+    SESSION_REVOKE,
+    PERMISSION_RELOAD,
+    USER_MANAGE;
+
+    private final long mask;
+
+    Permission() {
+        this.mask = 1L << ordinal();
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    public static long mask(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,24 @@
+package educationManagementSystem.security.permission;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+@Configuration
+public class PermissionConfig {
+    // Infrastructure role so that the auto-proxy creator registered for method security applies it
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor permissionAdvisor(ObjectProvider<PermissionRegistry> registryProvider) {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                new AnnotationMatchingPointcut(RequiresPermission.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(RequiresPermission.class));
+        return new DefaultPointcutAdvisor(pointcut, new PermissionInterceptor(registryProvider));
+    }
+}
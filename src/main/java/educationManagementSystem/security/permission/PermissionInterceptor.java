@@ -0,0 +1,81 @@
+package educationManagementSystem.security.permission;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Enforces {@link RequiresPermission}. The annotation of a method is resolved to a mask on its
+ * first call; later calls test that mask against the permissions of the principal's roles.
+ * Denials are reported the way method security reports them, so an anonymous caller still gets
+ * the authentication entry point and an authenticated one a 403.
+ */
+public class PermissionInterceptor implements MethodInterceptor {
+    private final ObjectProvider<PermissionRegistry> registryProvider;
+
+    private final ConcurrentHashMap<Method, Long> masks = new ConcurrentHashMap<>();
+
+    private volatile PermissionRegistry registry;
+
+    // the registry reads the database, so it is looked up once the first secured call comes in
+    public PermissionInterceptor(ObjectProvider<PermissionRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Long mask = masks.get(method);
+        if (mask == null) {
+            mask = masks.computeIfAbsent(method, key -> resolve(key, invocation.getThis()));
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AuthenticationCredentialsNotFoundException(
+                    "An Authentication object was not found in the SecurityContext");
+        }
+        Object principal = authentication.getPrincipal();
+        if (!(principal instanceof UserDetailsImpl) || !registry().hasAny((UserDetailsImpl) principal, mask)) {
+            throw new AccessDeniedException("Access is denied");
+        }
+
+        return invocation.proceed();
+    }
+
+    private PermissionRegistry registry() {
+        PermissionRegistry resolved = registry;
+        if (resolved == null) {
+            resolved = registryProvider.getObject();
+            registry = resolved;
+        }
+        return resolved;
+    }
+
+    private static long resolve(Method method, Object target) {
+        return requiredMask(method, target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass());
+    }
+
+    /**
+     * The permissions {@link RequiresPermission} asks for on the method or, failing that, its class.
+     */
+    public static long requiredMask(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(specific, RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        // an empty list grants nothing rather than everything
+        return annotation != null ? Permission.mask(annotation.value()) : 0L;
+    }
+}
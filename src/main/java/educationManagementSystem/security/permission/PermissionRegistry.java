@@ -0,0 +1,65 @@
+package educationManagementSystem.security.permission;
+
+import javax.annotation.PostConstruct;
+
+import educationManagementSystem.security.services.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * The role to permission mapping of the role_permissions table, compiled into a
+ * {@link PermissionTable}. The table is re-read periodically and on demand; a changed mapping
+ * replaces the compiled one as a whole.
+ */
+@Service
+public class PermissionRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(PermissionRegistry.class);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private volatile PermissionTable table = PermissionTable.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Reads the table again and returns whether the mapping changed.
+     */
+    @Scheduled(initialDelayString = "${habatoo.app.permissionReloadIntervalMs:60000}",
+            fixedDelayString = "${habatoo.app.permissionReloadIntervalMs:60000}")
+    public synchronized boolean reload() {
+        PermissionTable.Builder builder = PermissionTable.builder();
+        jdbcTemplate.query("SELECT role_name, permission FROM role_permissions", row -> {
+            if (!builder.grant(row.getString("role_name"), row.getString("permission"))) {
+                logger.warn("Skipping unknown role permission {} -> {}",
+                        row.getString("role_name"), row.getString("permission"));
+            }
+        });
+
+        PermissionTable compiled = builder.build();
+        if (compiled.equals(table)) {
+            return false;
+        }
+        table = compiled;
+        logger.info("Role permissions loaded: {}", compiled);
+        return true;
+    }
+
+    public long permissions(int roleMask) {
+        return table.permissions(roleMask);
+    }
+
+    /**
+     * Whether the principal has any of the permissions in {@code mask}.
+     */
+    public boolean hasAny(UserDetailsImpl user, long mask) {
+        return table.hasAny(user, mask);
+    }
+}
@@ -0,0 +1,109 @@
+package educationManagementSystem.security.permission;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+/**
+ * Role to permission grants compiled into the permissions of every combination of roles. A check
+ * is an array load and a mask test on the role bits the principal carries. Shared by the servlet
+ * and the reactive registries, which only differ in how they read the role_permissions table.
+ */
+public final class PermissionTable {
+    private static final ERole[] ROLES = ERole.values();
+
+    public static final PermissionTable EMPTY = new Builder().build();
+
+    // indexed by UserDetailsImpl#getRoleMask()
+    private final long[] permissions;
+
+    private final String granted;
+
+    private PermissionTable(long[] permissions, String granted) {
+        this.permissions = permissions;
+        this.granted = granted;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long permissions(int roleMask) {
+        return permissions[roleMask];
+    }
+
+    /**
+     * Whether the principal has any of the permissions in {@code mask}.
+     */
+    public boolean hasAny(UserDetailsImpl user, long mask) {
+        return (permissions[user.getRoleMask()] & mask) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PermissionTable && Arrays.equals(permissions, ((PermissionTable) o).permissions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(permissions);
+    }
+
+    @Override
+    public String toString() {
+        return granted;
+    }
+
+    public static final class Builder {
+        private final Map<ERole, Set<Permission>> granted = new EnumMap<>(ERole.class);
+
+        private Builder() {
+            for (ERole role : ROLES) {
+                granted.put(role, EnumSet.noneOf(Permission.class));
+            }
+        }
+
+        /**
+         * Adds a row of the role_permissions table.
+         *
+         * @return {@code false} when the role or the permission is unknown, the row is then skipped
+         */
+        public boolean grant(String roleName, String permissionName) {
+            ERole role = ERole.fromAuthority(roleName);
+            Permission permission = parse(permissionName);
+            if (role == null || permission == null) {
+                return false;
+            }
+            granted.get(role).add(permission);
+            return true;
+        }
+
+        public PermissionTable build() {
+            long[] compiled = new long[1 << ROLES.length];
+            for (int roleMask = 1; roleMask < compiled.length; roleMask++) {
+                for (ERole role : ROLES) {
+                    if ((roleMask & role.mask()) != 0) {
+                        for (Permission permission : granted.get(role)) {
+                            compiled[roleMask] |= permission.mask();
+                        }
+                    }
+                }
+            }
+            return new PermissionTable(compiled, granted.toString());
+        }
+
+        private static Permission parse(String name) {
+            for (Permission permission : Permission.values()) {
+                if (permission.name().equals(name)) {
+                    return permission;
+                }
+            }
+            return null;
+        }
+    }
+}
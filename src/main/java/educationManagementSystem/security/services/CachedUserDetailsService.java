@@ -0,0 +1,100 @@
+package educationManagementSystem.security.services;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Bounded cache of {@link UserDetailsImpl} in front of {@link UserDetailsServiceImpl}.
+ * Entries are evicted by size and age and invalidated on every {@link UserChangedEvent}.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Value("${habatoo.app.userCacheSize:50000}")
+    private long maximumSize;
+
+    @Value("${habatoo.app.userCacheTtlSeconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, UserDetailsImpl> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public UserDetailsImpl loadUserByUsername(String username) throws UsernameNotFoundException {
+        return cache.get(username, key -> (UserDetailsImpl) userDetailsService.loadUserByUsername(key));
+    }
+
+    /**
+     * The principal for a token whose claims cannot be trusted. A miss is read from a replica and
+     * not cached, so that replica lag cannot outlive the request in the cache.
+     */
+    public UserDetailsImpl loadPrincipal(String username) throws UsernameNotFoundException {
+        UserDetailsImpl user = cache.getIfPresent(username);
+        return user != null ? user : userDetailsService.loadPrincipal(username);
+    }
+
+    /**
+     * Stores a rehashed password after a login with an outdated hash format or cost,
+     * and refreshes the cached entry so the upgrade is not repeated on the next login.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetailsImpl updated = (UserDetailsImpl) userDetailsService.updatePassword(user, newPassword);
+        cache.put(updated.getUsername(), updated);
+        return updated;
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    // After commit, so that a concurrent load cannot cache what the change replaced
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    public double getAverageLoadTimeNanos() {
+        return cache.stats().averageLoadPenalty();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
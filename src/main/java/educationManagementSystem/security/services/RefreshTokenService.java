@@ -0,0 +1,318 @@
+package educationManagementSystem.security.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import educationManagementSystem.model.RefreshToken;
+import educationManagementSystem.repository.RefreshTokenRepository;
+import educationManagementSystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.jsonwebtoken.io.Decoders;
+
+/**
+ * Issues and rotates opaque refresh tokens. A refresh costs one HMAC of the presented token,
+ * a lookup that is usually answered by the in-memory front cache, and a conditional update
+ * that makes rotation single-use even across instances. Presenting an already rotated token
+ * is treated as theft and revokes every token of its family.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final int FAMILY_BYTES = 16;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CachedUserDetailsService userDetailsService;
+
+    @Value("${habatoo.app.refreshTokenSecret:${habatoo.app.jwtSecret}}")
+    private String refreshTokenSecret;
+
+    @Value("${habatoo.app.refreshTokenExpirationMs:1209600000}")
+    private long refreshTokenExpirationMs;
+
+    @Value("${habatoo.app.refreshTokenCacheSize:50000}")
+    private long cacheSize;
+
+    private ThreadLocal<Mac> mac;
+
+    private Cache<String, Entry> cache;
+
+    // Token hashes of the cached entries by family, and their families by user, so that revoking
+    // touches only the entries concerned; both shrink as entries leave the cache
+    private final ConcurrentMap<String, Set<String>> cachedByFamily = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, Set<String>> cachedFamiliesByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        SecretKeySpec key = new SecretKeySpec(Decoders.BASE64.decode(refreshTokenSecret), HMAC_ALGORITHM);
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+                throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+            }
+        });
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return nanosUntil(entry.expiresAt);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return nanosUntil(entry.expiresAt);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // on the calling thread, so a revoke returns with the indexes up to date
+                .executor(Runnable::run)
+                .removalListener((String tokenHash, Entry entry, RemovalCause cause) -> unindex(tokenHash, entry))
+                .build();
+    }
+
+    /**
+     * Starts a new token family, typically right after a password login.
+     */
+    @Transactional
+    public String issue(UserDetailsImpl user) {
+        return issue(user.getId(), user.getUsername(), randomToken(FAMILY_BYTES));
+    }
+
+    /**
+     * Exchanges a refresh token for a new one of the same family.
+     *
+     * @return the new token and the current principal, or {@code null} when the token is
+     * unknown, expired or has already been used
+     */
+    @Transactional
+    public Rotation rotate(String token) {
+        String tokenHash = hash(token);
+
+        Entry entry = cache.getIfPresent(tokenHash);
+        if (entry == null) {
+            RefreshToken stored = refreshTokenRepository.findByTokenHash(tokenHash).orElse(null);
+            if (stored == null) {
+                return null;
+            }
+            entry = new Entry(stored.getId(), stored.getUser().getId(), stored.getUser().getUsername(),
+                    stored.getFamily(), stored.getExpiresAt());
+        }
+        cache.invalidate(tokenHash);
+
+        if (entry.expiresAt.isBefore(Instant.now())) {
+            return null;
+        }
+
+        if (refreshTokenRepository.markUsed(entry.id) == 0) {
+            logger.warn("Refresh token reuse detected for user {}, revoking token family", entry.username);
+            revokeFamily(entry.family);
+            return null;
+        }
+
+        UserDetailsImpl user;
+        try {
+            user = userDetailsService.loadUserByUsername(entry.username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+
+        return new Rotation(issue(entry.userId, entry.username, entry.family), user);
+    }
+
+    /**
+     * Revokes the family of the given token, used on logout.
+     */
+    @Transactional
+    public void revoke(String token) {
+        String tokenHash = hash(token);
+        Entry entry = cache.getIfPresent(tokenHash);
+        String family = entry != null
+                ? entry.family
+                : refreshTokenRepository.findByTokenHash(tokenHash).map(RefreshToken::getFamily).orElse(null);
+        if (family != null) {
+            revokeFamily(family);
+        }
+    }
+
+    @Transactional
+    public void revokeFamily(String family) {
+        invalidateFamily(family);
+        refreshTokenRepository.deleteByFamily(family);
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        Set<String> families = cachedFamiliesByUser.get(userId);
+        if (families != null) {
+            new ArrayList<>(families).forEach(this::invalidateFamily);
+        }
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if ((event.getType() == UserChangedEvent.Type.PASSWORD_CHANGED
+                || event.getType() == UserChangedEvent.Type.DELETED) && event.getUserId() != null) {
+            revokeAll(event.getUserId());
+        }
+    }
+
+    // Rotated tokens are kept until they expire so that their reuse can still be detected
+    @Scheduled(fixedDelayString = "${habatoo.app.refreshTokenPurgeIntervalMs:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String issue(Long userId, String username, String family) {
+        String token = randomToken(TOKEN_BYTES);
+        String tokenHash = hash(token);
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenExpirationMs);
+
+        RefreshToken stored = refreshTokenRepository.save(
+                new RefreshToken(tokenHash, userRepository.getOne(userId), family, expiresAt));
+        // Indexed first, so that the removal of the entry always finds it
+        index(tokenHash, userId, family);
+        cache.put(tokenHash, new Entry(stored.getId(), userId, username, family, expiresAt));
+        return token;
+    }
+
+    private void index(String tokenHash, Long userId, String family) {
+        cachedByFamily.compute(family, (key, tokenHashes) -> {
+            Set<String> indexed = tokenHashes != null ? tokenHashes : ConcurrentHashMap.newKeySet();
+            indexed.add(tokenHash);
+            cachedFamiliesByUser.compute(userId, (id, families) -> {
+                Set<String> userFamilies = families != null ? families : ConcurrentHashMap.newKeySet();
+                userFamilies.add(family);
+                return userFamilies;
+            });
+            return indexed;
+        });
+    }
+
+    private void invalidateFamily(String family) {
+        Set<String> tokenHashes = cachedByFamily.get(family);
+        if (tokenHashes != null) {
+            cache.invalidateAll(new ArrayList<>(tokenHashes));
+        }
+    }
+
+    private void unindex(String tokenHash, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        cachedByFamily.computeIfPresent(entry.family, (family, tokenHashes) -> {
+            tokenHashes.remove(tokenHash);
+            if (!tokenHashes.isEmpty()) {
+                return tokenHashes;
+            }
+            cachedFamiliesByUser.computeIfPresent(entry.userId, (userId, families) -> {
+                families.remove(family);
+                return families.isEmpty() ? null : families;
+            });
+            return null;
+        });
+    }
+
+    private String hash(String token) {
+        byte[] digest = mac.get().doFinal(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static String randomToken(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private static long nanosUntil(Instant expiresAt) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis()));
+    }
+
+    public static class Rotation {
+        private final String refreshToken;
+
+        private final UserDetailsImpl user;
+
+        Rotation(String refreshToken, UserDetailsImpl user) {
+            this.refreshToken = refreshToken;
+            this.user = user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public UserDetailsImpl getUser() {
+            return user;
+        }
+    }
+
+    private static class Entry {
+        final Long id;
+        final Long userId;
+        final String username;
+        final String family;
+        final Instant expiresAt;
+
+        Entry(Long id, Long userId, String username, String family, Instant expiresAt) {
+            this.id = id;
+            this.userId = userId;
+            this.username = username;
+            this.family = family;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
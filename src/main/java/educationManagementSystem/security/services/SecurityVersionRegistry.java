@@ -0,0 +1,74 @@
+package educationManagementSystem.security.services;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache of the per-user security versions stored in {@code users.security_version}. Every token
+ * carries the version its principal was read with; once the user's roles or password change the
+ * stored version is bumped and principals built from older tokens are no longer trusted. A missing
+ * entry is read through the {@link SecurityVersionSource}; without one, as in the reactive
+ * deployment, it is unknown until {@link #remember} and tokens fall back to the database meanwhile.
+ * Entries expire after {@code habatoo.app.securityVersionTtlSeconds}, which bounds how long another
+ * instance trusts a token after a change.
+ */
+@Component
+public class SecurityVersionRegistry {
+    @Autowired(required = false)
+    private SecurityVersionSource source;
+
+    @Value("${habatoo.app.securityVersionCacheSize:100000}")
+    private long maximumSize;
+
+    @Value("${habatoo.app.securityVersionTtlSeconds:30}")
+    private long ttlSeconds;
+
+    private Cache<Long, Integer> versions;
+
+    @PostConstruct
+    public void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public boolean isCurrent(long userId, int version) {
+        Integer current = versions.getIfPresent(userId);
+        if (current == null && source != null) {
+            current = source.loadSecurityVersion(userId);
+            if (current != null) {
+                versions.put(userId, current);
+            }
+        }
+        return current != null && current == version;
+    }
+
+    /**
+     * Records the version of a principal just read from the database.
+     */
+    public void remember(long userId, int version) {
+        versions.put(userId, version);
+    }
+
+    public void invalidate(long userId) {
+        versions.invalidate(userId);
+    }
+
+    // After commit: a read before it would cache the version the change is about to replace
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() != UserChangedEvent.Type.REGISTERED && event.getUserId() != null) {
+            invalidate(event.getUserId());
+        }
+    }
+}
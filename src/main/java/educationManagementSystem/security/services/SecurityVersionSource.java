@@ -0,0 +1,11 @@
+package educationManagementSystem.security.services;
+
+/**
+ * Reads the stored security version of a user for {@link SecurityVersionRegistry}.
+ */
+public interface SecurityVersionSource {
+    /**
+     * @return the version, or {@code null} when there is no such user
+     */
+    Integer loadSecurityVersion(long userId);
+}
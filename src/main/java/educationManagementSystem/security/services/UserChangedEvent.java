@@ -0,0 +1,39 @@
+package educationManagementSystem.security.services;
+
+/**
+ * Published whenever a user account changes in a way that affects authentication,
+ * so cached principals and issued tokens can be brought up to date.
+ */
+public class UserChangedEvent {
+
+    public enum Type {
+        REGISTERED,
+        ROLES_CHANGED,
+        PASSWORD_CHANGED,
+        DELETED
+    }
+
+    private final Long userId;
+
+    private final String username;
+
+    private final Type type;
+
+    public UserChangedEvent(Long userId, String username, Type type) {
+        this.userId = userId;
+        this.username = username;
+        this.type = type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Type getType() {
+        return type;
+    }
+}
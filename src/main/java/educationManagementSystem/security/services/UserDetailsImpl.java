@@ -1,17 +1,23 @@
 package educationManagementSystem.security.services;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import educationManagementSystem.model.ERole;
 import educationManagementSystem.model.User;
+import educationManagementSystem.repository.UserPrincipalView;
+import educationManagementSystem.security.jwt.JwtUtils;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import io.jsonwebtoken.Claims;
+
 public class UserDetailsImpl implements UserDetails {
     private static final long serialVersionUID = 1L;
 
@@ -26,13 +32,34 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    // the ERole bits of the authorities, so that a permission check needs no string comparison
+    @JsonIgnore
+    private final int roleMask;
+
+    // the users.security_version this principal was read with, and carried by its tokens
+    @JsonIgnore
+    private final int securityVersion;
+
     public UserDetailsImpl(Long id, String username, String email, String password,
                            Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, authorities, 0);
+    }
+
+    public UserDetailsImpl(Long id, String username, String email, String password,
+                           Collection<? extends GrantedAuthority> authorities, int securityVersion) {
+        this(id, username, email, password, authorities, roleMask(authorities), securityVersion);
+    }
+
+    // for the builders, which know the roles before they become authorities
+    private UserDetailsImpl(Long id, String username, String email, String password,
+                            Collection<? extends GrantedAuthority> authorities, int roleMask, int securityVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.roleMask = roleMask;
+        this.securityVersion = securityVersion;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -46,7 +73,81 @@ public class UserDetailsImpl implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getSecurityVersion());
+    }
+
+    /**
+     * Builds the principal from the rows of {@link UserPrincipalView}, or returns {@code null}
+     * when there are none.
+     */
+    public static UserDetailsImpl build(List<? extends UserPrincipalView> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(rows.size());
+        int roleMask = 0;
+        for (UserPrincipalView row : rows) {
+            if (row.getRole() != null) {
+                authorities.add(new SimpleGrantedAuthority(row.getRole().name()));
+                roleMask |= row.getRole().mask();
+            }
+        }
+
+        UserPrincipalView user = rows.get(0);
+        return new UserDetailsImpl(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                authorities,
+                roleMask,
+                user.getSecurityVersion());
+    }
+
+    /**
+     * Builds the principal from the claims embedded by {@link JwtUtils#generateJwtToken}
+     * without touching the database. Returns {@code null} for tokens issued without them.
+     */
+    public static UserDetailsImpl build(Claims claims) {
+        Object id = claims.get(JwtUtils.CLAIM_ID);
+        Object roles = claims.get(JwtUtils.CLAIM_ROLES);
+        Object version = claims.get(JwtUtils.CLAIM_VERSION);
+        if (!(id instanceof Number) || !(roles instanceof Collection) || !(version instanceof Number)) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(((Collection<?>) roles).size());
+        int roleMask = 0;
+        for (Object role : (Collection<?>) roles) {
+            String authority = String.valueOf(role);
+            authorities.add(new SimpleGrantedAuthority(authority));
+            ERole name = ERole.fromAuthority(authority);
+            if (name != null) {
+                roleMask |= name.mask();
+            }
+        }
+
+        return new UserDetailsImpl(
+                ((Number) id).longValue(),
+                claims.getSubject(),
+                claims.get(JwtUtils.CLAIM_EMAIL, String.class),
+                null,
+                authorities,
+                roleMask,
+                ((Number) version).intValue());
+    }
+
+    private static int roleMask(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            ERole role = ERole.fromAuthority(authority.getAuthority());
+            if (role != null) {
+                mask |= role.mask();
+            }
+        }
+        return mask;
     }
 
     @Override
@@ -54,6 +155,14 @@ public class UserDetailsImpl implements UserDetails {
         return authorities;
     }
 
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    public int getSecurityVersion() {
+        return securityVersion;
+    }
+
     public Long getId() {
         return id;
     }
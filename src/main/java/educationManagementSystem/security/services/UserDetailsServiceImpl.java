@@ -1,27 +1,66 @@
 package educationManagementSystem.security.services;
 
-import educationManagementSystem.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import educationManagementSystem.datasource.PrimaryRead;
 import educationManagementSystem.repository.UserRepository;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService, SecurityVersionSource {
     @Autowired
     UserRepository userRepository;
 
+    // The password check: a student who logs in right after registering must be found
     @Override
-    @Transactional
+    @PrimaryRead
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        return findPrincipal(username);
+    }
+
+    /**
+     * Loads the principal of a verified token whose claims cannot be trusted. A replica that
+     * lags behind only delays a role change by its lag.
+     */
+    @Transactional(readOnly = true)
+    public UserDetailsImpl loadPrincipal(String username) throws UsernameNotFoundException {
+        return findPrincipal(username);
+    }
+
+    // Like loadPrincipal, a lagging replica only delays a change by its lag
+    @Override
+    @Transactional(readOnly = true)
+    public Integer loadSecurityVersion(long userId) {
+        return userRepository.findSecurityVersion(userId);
+    }
+
+    private UserDetailsImpl findPrincipal(String username) {
+        UserDetailsImpl user = UserDetailsImpl.build(userRepository.findPrincipalByUsername(username));
+        if (user == null) {
+            throw new UsernameNotFoundException("User Not Found with username: " + username);
+        }
+
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
 
-        return UserDetailsImpl.build(user);
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+        return new UserDetailsImpl(
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                newPassword,
+                userDetails.getAuthorities(),
+                userDetails.getSecurityVersion());
     }
 
 }
@@ -0,0 +1,213 @@
+package educationManagementSystem.security.throttle;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory login limiter that runs before any password hashing. Every username and every
+ * client address owns a token bucket; repeated failures additionally block the key with an
+ * exponentially growing backoff. Failures are forgotten once none has happened for a window,
+ * and a successful login forgives one failure of its address. Buckets are kept in bounded
+ * caches and evicted when idle.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    private final Object[] locks = new Object[STRIPES];
+
+    private final LongAdder usernameRejects = new LongAdder();
+
+    private final LongAdder addressRejects = new LongAdder();
+
+    @Value("${habatoo.app.loginThrottle.usernameCapacity:5}")
+    private int usernameCapacity = 5;
+
+    @Value("${habatoo.app.loginThrottle.usernameRefillPerMinute:5}")
+    private int usernameRefillPerMinute = 5;
+
+    // An address may be a load balancer, campus NAT or proxy shared by many students; size the
+    // address limits for the login peak behind the largest such address, not for one client
+    @Value("${habatoo.app.loginThrottle.addressCapacity:500}")
+    private int addressCapacity = 500;
+
+    @Value("${habatoo.app.loginThrottle.addressRefillPerMinute:600}")
+    private int addressRefillPerMinute = 600;
+
+    // Failures tolerated before backoff starts
+    @Value("${habatoo.app.loginThrottle.freeFailures:3}")
+    private int freeFailures = 3;
+
+    @Value("${habatoo.app.loginThrottle.addressFreeFailures:50}")
+    private int addressFreeFailures = 50;
+
+    // Failures are forgotten once none has happened for this long
+    @Value("${habatoo.app.loginThrottle.failureWindowMs:900000}")
+    private long failureWindowMs = 900000;
+
+    @Value("${habatoo.app.loginThrottle.baseBackoffMs:1000}")
+    private long baseBackoffMs = 1000;
+
+    @Value("${habatoo.app.loginThrottle.maxBackoffMs:300000}")
+    private long maxBackoffMs = 300000;
+
+    @Value("${habatoo.app.loginThrottle.maxEntries:100000}")
+    private long maxEntries = 100000;
+
+    @Value("${habatoo.app.loginThrottle.idleMinutes:30}")
+    private long idleMinutes = 30;
+
+    private Cache<String, Bucket> usernameBuckets;
+
+    private Cache<String, Bucket> addressBuckets;
+
+    static class Bucket {
+        double tokens;
+        long refilledAt;
+        int failures;
+        long failedAt;
+        long blockedUntil;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+    }
+
+    public LoginThrottle() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        usernameBuckets = newBucketCache();
+        addressBuckets = newBucketCache();
+    }
+
+    /**
+     * Takes a token for both the username and the client address.
+     *
+     * @return 0 if the attempt may proceed, otherwise milliseconds until the next attempt is allowed
+     */
+    public long tryAcquire(String username, String clientAddress) {
+        long now = System.currentTimeMillis();
+
+        long retryAfter = acquire(addressBuckets, clientAddress, addressCapacity, addressRefillPerMinute, now);
+        if (retryAfter > 0) {
+            addressRejects.increment();
+            return retryAfter;
+        }
+
+        retryAfter = acquire(usernameBuckets, usernameKey(username), usernameCapacity, usernameRefillPerMinute, now);
+        if (retryAfter > 0) {
+            usernameRejects.increment();
+        }
+        return retryAfter;
+    }
+
+    public void onFailure(String username, String clientAddress) {
+        long now = System.currentTimeMillis();
+        fail(usernameBuckets, usernameKey(username), usernameCapacity, freeFailures, now);
+        fail(addressBuckets, clientAddress, addressCapacity, addressFreeFailures, now);
+    }
+
+    /**
+     * Clears the failures of the username. The address only has one failure forgiven, so that
+     * logging in to one account does not wipe the failures collected against others.
+     */
+    public void onSuccess(String username, String clientAddress) {
+        String key = usernameKey(username);
+        Bucket bucket = usernameBuckets.getIfPresent(key);
+        if (bucket != null) {
+            synchronized (lockFor(key)) {
+                bucket.failures = 0;
+                bucket.blockedUntil = 0;
+            }
+        }
+
+        bucket = addressBuckets.getIfPresent(clientAddress);
+        if (bucket != null) {
+            synchronized (lockFor(clientAddress)) {
+                if (bucket.failures > 0) {
+                    bucket.failures--;
+                }
+                if (bucket.failures <= addressFreeFailures) {
+                    bucket.blockedUntil = 0;
+                }
+            }
+        }
+    }
+
+    public long getUsernameRejectCount() {
+        return usernameRejects.sum();
+    }
+
+    public long getAddressRejectCount() {
+        return addressRejects.sum();
+    }
+
+    public long getTrackedKeyCount() {
+        return usernameBuckets.estimatedSize() + addressBuckets.estimatedSize();
+    }
+
+    private long acquire(Cache<String, Bucket> buckets, String key, int capacity, int refillPerMinute, long now) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+        synchronized (lockFor(key)) {
+            if (bucket.blockedUntil > now) {
+                return bucket.blockedUntil - now;
+            }
+
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * refillPerMinute / 60000.0);
+            bucket.refilledAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) * 60000.0 / refillPerMinute);
+        }
+    }
+
+    private void fail(Cache<String, Bucket> buckets, String key, int capacity, int freeFailures, long now) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+        synchronized (lockFor(key)) {
+            if (now - bucket.failedAt > failureWindowMs) {
+                bucket.failures = 0;
+            }
+            bucket.failedAt = now;
+            bucket.failures++;
+            int excess = bucket.failures - freeFailures;
+            if (excess > 0) {
+                long backoff = baseBackoffMs << Math.min(excess - 1, 30);
+                bucket.blockedUntil = now + Math.min(backoff, maxBackoffMs);
+            }
+        }
+    }
+
+    private Cache<String, Bucket> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    private Object lockFor(String key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static String usernameKey(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,68 @@
+package educationManagementSystem.services;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.Role;
+import educationManagementSystem.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * The roles seeded by migration, loaded once at startup so that resolving a role is a map lookup.
+ * The entities are detached and only serve as references when users are linked to their roles.
+ */
+@Service
+public class RoleRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    private volatile Map<ERole, Role> roles = new EnumMap<>(ERole.class);
+
+    @PostConstruct
+    public void load() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = loaded;
+
+        Set<ERole> missing = EnumSet.allOf(ERole.class);
+        missing.removeAll(loaded.keySet());
+        if (!missing.isEmpty()) {
+            logger.warn("Roles {} are not in the roles table yet", missing);
+        }
+    }
+
+    public Role get(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            // only a role inserted after startup gets here, and only once
+            role = roleRepository.findByName(name)
+                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
+            Map<ERole, Role> updated = new EnumMap<>(roles);
+            updated.put(name, role);
+            roles = updated;
+        }
+        return role;
+    }
+
+    public Set<Role> get(Collection<ERole> names) {
+        Set<Role> resolved = new HashSet<>();
+        for (ERole name : names) {
+            resolved.add(get(name));
+        }
+        return resolved;
+    }
+}
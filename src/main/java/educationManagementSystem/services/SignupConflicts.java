@@ -0,0 +1,52 @@
+package educationManagementSystem.services;
+
+import java.util.Locale;
+
+/**
+ * The answers to a registration that violates a unique key of users. Signups look the names up
+ * first so that a taken name costs no password hash; the keys still decide, which also settles
+ * concurrent signups for the same name. The servlet and the reactive signup map the violated key
+ * here.
+ */
+public final class SignupConflicts {
+    public static final String USERNAME_TAKEN = "Error: Username is already taken!";
+
+    public static final String EMAIL_IN_USE = "Error: Email is already in use!";
+
+    // SQLState of a unique violation, shared by H2 and PostgreSQL
+    public static final String UNIQUE_VIOLATION = "23505";
+
+    private SignupConflicts() {
+    }
+
+    /**
+     * @param violation the database message naming the violated key and its columns
+     * @param sqlState  the SQLState of the violation, may be {@code null}
+     * @return the error message, or {@code null} when the key is not one of the users keys
+     */
+    public static String message(String violation, String sqlState) {
+        String key = String.valueOf(violation).toLowerCase(Locale.ROOT);
+        // the case-insensitive keys, the only ones since V11
+        if (key.contains("uk_users_username_lower")) {
+            return USERNAME_TAKEN;
+        }
+        if (key.contains("uk_users_email_lower")) {
+            return EMAIL_IN_USE;
+        }
+        if (!UNIQUE_VIOLATION.equals(sqlState)) {
+            return null;
+        }
+
+        // Keys named by Hibernate (UK_<hash>) only show through their column, which the message
+        // lists before the duplicate value: "users(username)", "Key (lower((email)::text))"
+        int username = key.indexOf("(username");
+        int email = key.indexOf("(email");
+        if (username >= 0 && (email < 0 || username < email)) {
+            return USERNAME_TAKEN;
+        }
+        if (email >= 0) {
+            return EMAIL_IN_USE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package educationManagementSystem.services;
+
+import java.util.Set;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.User;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.security.services.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Changes to an account that invalidate what its tokens say about it. Each one bumps
+ * {@code users.security_version} in the same transaction, so tokens issued before are no longer
+ * trusted on any instance, and publishes a {@link UserChangedEvent} for the local caches.
+ */
+@Service
+public class UserAccountService {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    @Autowired
+    PasswordEncoder encoder;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return {@code false} when there is no such user
+     */
+    @Transactional
+    public boolean changeRoles(long userId, Set<ERole> roles) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return false;
+        }
+
+        user.setRoles(roleRegistry.get(roles));
+        userRepository.bumpSecurityVersion(userId);
+        eventPublisher.publishEvent(
+                new UserChangedEvent(userId, user.getUsername(), UserChangedEvent.Type.ROLES_CHANGED));
+        return true;
+    }
+
+    /**
+     * @return {@code false} when there is no such user
+     */
+    @Transactional
+    public boolean changePassword(long userId, String password) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return false;
+        }
+
+        user.setPassword(encoder.encode(password));
+        userRepository.bumpSecurityVersion(userId);
+        eventPublisher.publishEvent(
+                new UserChangedEvent(userId, user.getUsername(), UserChangedEvent.Type.PASSWORD_CHANGED));
+        return true;
+    }
+
+    /**
+     * Deletes the user with their refresh tokens. Users that still have enrollments or grades
+     * fail the flush with a {@link org.springframework.dao.DataIntegrityViolationException}.
+     *
+     * @return {@code false} when there is no such user
+     */
+    @Transactional
+    public boolean delete(long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return false;
+        }
+
+        // Listeners inside the transaction remove the refresh tokens referencing the user
+        eventPublisher.publishEvent(
+                new UserChangedEvent(userId, user.getUsername(), UserChangedEvent.Type.DELETED));
+        userRepository.delete(user);
+        userRepository.flush();
+        return true;
+    }
+}
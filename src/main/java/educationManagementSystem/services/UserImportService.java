@@ -0,0 +1,643 @@
+package educationManagementSystem.services;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.User;
+import educationManagementSystem.payload.request.SignupRequest;
+import educationManagementSystem.payload.responce.UserImportJobResponse;
+import educationManagementSystem.payload.responce.UserImportResponse;
+import educationManagementSystem.payload.responce.UserImportRowResponse;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.security.services.UserChangedEvent;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bulk registration for the start of a semester. An upload is spooled to a temporary file and
+ * imported by a background job that the caller polls. Rows are read as a stream and handled batch
+ * by batch: validated like {@link SignupRequest}, checked for duplicates in memory and then
+ * against the database with one {@code in} query, hashed in parallel on a bounded pool and
+ * inserted with JDBC batches. Each batch commits on its own, so a row taken concurrently by a
+ * regular registration only rejects its batch. Jobs live in memory on the instance that accepted
+ * the upload.
+ */
+@Service
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_USER = "INSERT INTO users(id, username, email, password) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles(user_id, role_id) VALUES (?, ?)";
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    @Autowired
+    PasswordEncoder encoder;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Value("${habatoo.app.import.maxRows:20000}")
+    private int maxRows;
+
+    @Value("${habatoo.app.import.maxBytes:16777216}")
+    private long maxBytes;
+
+    @Value("${habatoo.app.import.batchSize:500}")
+    private int batchSize;
+
+    // 0 means half of the cores: the other half keeps serving logins during an import
+    @Value("${habatoo.app.import.hashThreads:0}")
+    private int hashThreads;
+
+    // imports run one at a time, the others wait in a queue of this size
+    @Value("${habatoo.app.import.maxQueued:4}")
+    private int maxQueued;
+
+    // how long a job can be polled after it was submitted or finished
+    @Value("${habatoo.app.import.jobRetentionMinutes:60}")
+    private long jobRetentionMinutes;
+
+    private ThreadPoolExecutor hashPool;
+
+    private ThreadPoolExecutor importPool;
+
+    private Cache<String, Job> jobs;
+
+    private String nextUserIdBlock;
+
+    @PostConstruct
+    public void init() {
+        nextUserIdBlock = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceNextValString("users_id_seq");
+
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        // a full queue makes the importing thread hash too, which bounds memory and CPU
+        hashPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        importPool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetentionMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importPool.shutdownNow();
+        hashPool.shutdownNow();
+        jobs.asMap().values().forEach(job -> deleteUpload(job.upload));
+    }
+
+    /**
+     * Spools an upload accepted by {@link #importUsers} and queues its import.
+     *
+     * @return the queued job, to be polled with {@link #job}
+     * @throws IllegalArgumentException when the document itself is unusable: missing CSV
+     * columns, more than {@code habatoo.app.import.maxRows} rows or
+     * {@code habatoo.app.import.maxBytes} bytes; nothing is imported then
+     * @throws RejectedExecutionException when {@code habatoo.app.import.maxQueued} imports are
+     * waiting already
+     */
+    public UserImportJobResponse submit(UserListingService.Format format, InputStream in) throws IOException {
+        Path upload = Files.createTempFile("user-import-", ".upload");
+        try {
+            spool(in, upload);
+            check(format, upload);
+            Job job = new Job(UUID.randomUUID().toString(), upload);
+            jobs.put(job.id, job);
+            importPool.execute(() -> run(job, format));
+            return job.response();
+        } catch (IOException | RuntimeException e) {
+            deleteUpload(upload);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the job, or {@code null} when it is unknown to this instance or expired
+     */
+    public UserImportJobResponse job(String id) {
+        Job job = jobs.getIfPresent(id);
+        return job != null ? job.response() : null;
+    }
+
+    /**
+     * Imports users from CSV with a {@code username,email,password,role} header, the roles of a
+     * row separated by {@code ;}, or from JSON lines shaped like {@link SignupRequest}. Rows are
+     * committed batch by batch as they are read; {@link #submit} checks the whole document first.
+     *
+     * @throws IllegalArgumentException when the CSV header does not name the required columns
+     */
+    public UserImportResponse importUsers(UserListingService.Format format, InputStream in) throws IOException {
+        return importUsers(format, in, processed -> {
+        });
+    }
+
+    private UserImportResponse importUsers(UserListingService.Format format, InputStream in, IntConsumer progress)
+            throws IOException {
+        Map<ERole, Integer> roleIds = roleIds();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<UserImportRowResponse> report = new ArrayList<>();
+        int imported = 0;
+
+        try (RowReader rows = rowReader(format, in)) {
+            List<Row> batch = new ArrayList<>(batchSize);
+            Row row;
+            do {
+                row = rows.next();
+                if (row != null) {
+                    batch.add(row);
+                }
+                if (batch.size() == batchSize || row == null && !batch.isEmpty()) {
+                    imported += importBatch(batch, roleIds, usernames, emails, report);
+                    progress.accept(report.size());
+                    batch.clear();
+                }
+            } while (row != null);
+        }
+
+        logger.info("Imported {} of {} users", imported, report.size());
+        return new UserImportResponse(imported, report.size() - imported, report);
+    }
+
+    private void run(Job job, UserListingService.Format format) {
+        job.status = UserImportJobResponse.Status.RUNNING;
+        try (InputStream in = Files.newInputStream(job.upload)) {
+            job.result = importUsers(format, in, processed -> job.processed = processed);
+            job.status = UserImportJobResponse.Status.DONE;
+        } catch (Exception e) {
+            logger.error("Import {} failed after {} rows", job.id, job.processed, e);
+            job.message = "Error: Import failed after " + job.processed + " rows, these rows were processed.";
+            job.status = UserImportJobResponse.Status.FAILED;
+        } finally {
+            deleteUpload(job.upload);
+            // restarts the retention of a job that waited or ran long
+            jobs.put(job.id, job);
+        }
+    }
+
+    private void spool(InputStream in, Path upload) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(upload)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Error: An import is limited to " + maxBytes + " bytes.");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    // Reads the spooled document once without importing it, so that a bad one imports nothing
+    private void check(UserListingService.Format format, Path upload) throws IOException {
+        try (RowReader rows = rowReader(format, Files.newInputStream(upload))) {
+            int count = 0;
+            while (rows.next() != null) {
+                if (++count > maxRows) {
+                    throw new IllegalArgumentException("Error: An import is limited to " + maxRows + " users.");
+                }
+            }
+        }
+    }
+
+    private static void deleteUpload(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            logger.warn("Cannot delete import upload {}: {}", upload, e.getMessage());
+        }
+    }
+
+    private int importBatch(List<Row> batch, Map<ERole, Integer> roleIds, Set<String> usernames, Set<String> emails,
+                            List<UserImportRowResponse> report) {
+        List<Row> accepted = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (row.error == null) {
+                validate(row);
+            }
+            if (row.error == null && !usernames.add(row.username())) {
+                row.error = "Error: Username is repeated in the import.";
+            }
+            if (row.error == null && !emails.add(row.email())) {
+                row.error = "Error: Email is repeated in the import.";
+            }
+            if (row.error == null) {
+                accepted.add(row);
+            }
+        }
+
+        rejectExisting(accepted, Row::username, userRepository::findExistingUsernames,
+                SignupConflicts.USERNAME_TAKEN);
+        rejectExisting(accepted, Row::email, userRepository::findExistingEmails,
+                SignupConflicts.EMAIL_IN_USE);
+        accepted.removeIf(row -> row.error != null);
+
+        if (!accepted.isEmpty()) {
+            hash(accepted);
+            insert(accepted, roleIds);
+        }
+
+        int imported = 0;
+        for (Row row : batch) {
+            String username = row.request != null ? row.request.getUsername() : null;
+            if (row.error == null) {
+                imported++;
+                report.add(new UserImportRowResponse(row.line, username, UserImportRowResponse.Status.IMPORTED, null));
+                eventPublisher.publishEvent(new UserChangedEvent(row.id, username, UserChangedEvent.Type.REGISTERED));
+            } else {
+                report.add(new UserImportRowResponse(row.line, username, UserImportRowResponse.Status.REJECTED,
+                        row.error));
+            }
+        }
+        return imported;
+    }
+
+    private RowReader rowReader(UserListingService.Format format, InputStream in) throws IOException {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            return format == UserListingService.Format.CSV ? new CsvRowReader(lines) : new NdjsonRowReader(lines);
+        } catch (IOException | RuntimeException e) {
+            lines.close();
+            throw e;
+        }
+    }
+
+    private interface RowReader extends Closeable {
+        /**
+         * @return the next non-blank row, {@code null} at the end of the document
+         */
+        Row next() throws IOException;
+    }
+
+    private class NdjsonRowReader implements RowReader {
+        private final ObjectReader reader = objectMapper.readerFor(SignupRequest.class);
+
+        private final BufferedReader lines;
+
+        private int number;
+
+        NdjsonRowReader(BufferedReader lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                number++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                Row row = new Row(number);
+                try {
+                    row.request = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    row.request = null;
+                }
+                if (row.request == null) {
+                    row.error = "Error: Line is not a valid JSON object.";
+                }
+                return row;
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    private static class CsvRowReader implements RowReader {
+        private final BufferedReader lines;
+
+        private int number;
+
+        private List<String> header;
+
+        private int username;
+
+        private int email;
+
+        private int password;
+
+        private int role;
+
+        CsvRowReader(BufferedReader lines) throws IOException {
+            this.lines = lines;
+            String line = nextLine();
+            if (line == null) {
+                return;
+            }
+
+            List<String> columns = splitCsv(line);
+            header = columns == null ? new ArrayList<>() : columns.stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toList());
+            username = header.indexOf("username");
+            email = header.indexOf("email");
+            password = header.indexOf("password");
+            role = header.indexOf("role") >= 0 ? header.indexOf("role") : header.indexOf("roles");
+            if (username < 0 || email < 0 || password < 0) {
+                throw new IllegalArgumentException("Error: CSV header must name the username, email and password columns.");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line = header != null ? nextLine() : null;
+            if (line == null) {
+                return null;
+            }
+
+            Row row = new Row(number);
+            List<String> fields = splitCsv(line);
+            if (fields == null || fields.size() != header.size()) {
+                row.error = "Error: Row does not match the CSV header.";
+                return row;
+            }
+            SignupRequest request = new SignupRequest();
+            request.setUsername(fields.get(username));
+            request.setEmail(fields.get(email));
+            request.setPassword(fields.get(password));
+            if (role >= 0 && !fields.get(role).isEmpty()) {
+                request.setRole(new LinkedHashSet<>(Arrays.asList(fields.get(role).split(";"))));
+            }
+            row.request = request;
+            return row;
+        }
+
+        private String nextLine() throws IOException {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                number++;
+                if (!line.trim().isEmpty()) {
+                    return line;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    // RFC 4180 fields without embedded line breaks; null when a quote is left open
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void validate(Row row) {
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", ", "Error: ", "."));
+            return;
+        }
+        row.roles = ERole.fromSignupNames(row.request.getRole());
+    }
+
+    private Map<ERole, Integer> roleIds() {
+        Map<ERole, Integer> roleIds = new EnumMap<>(ERole.class);
+        for (ERole name : ERole.values()) {
+            roleIds.put(name, roleRegistry.get(name).getId());
+        }
+        return roleIds;
+    }
+
+    private void rejectExisting(List<Row> rows, Function<Row, String> key,
+                                Function<Collection<String>, List<String>> findExisting, String error) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(findExisting.apply(
+                rows.stream().map(key).collect(Collectors.toList())));
+        for (Row row : rows) {
+            if (row.error == null && existing.contains(key.apply(row))) {
+                row.error = error;
+            }
+        }
+    }
+
+    private void hash(List<Row> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String password = row.request.getPassword();
+            hashes.add(hashPool.submit(() -> encoder.encode(password)));
+        }
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).passwordHash = hashes.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot hash password", e.getCause());
+        }
+    }
+
+    private void insert(List<Row> batch, Map<ERole, Integer> roleIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = allocateIds(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).id = ids.get(i);
+                }
+
+                jdbcTemplate.batchUpdate(INSERT_USER, batch, batch.size(), (statement, row) -> {
+                    statement.setLong(1, row.id);
+                    statement.setString(2, row.request.getUsername());
+                    statement.setString(3, row.request.getEmail());
+                    statement.setString(4, row.passwordHash);
+                });
+
+                List<Object[]> userRoles = new ArrayList<>();
+                for (Row row : batch) {
+                    for (ERole role : row.roles) {
+                        userRoles.add(new Object[]{row.id, roleIds.get(role)});
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Import batch of {} users rolled back: {}", batch.size(), e.getMessage());
+            for (Row row : batch) {
+                row.id = null;
+                row.error = "Error: Username or email was taken during the import, please retry.";
+            }
+        }
+    }
+
+    // Same pooled blocks as User.id: each nextval reserves the ids up to and including its value
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long hi = jdbcTemplate.queryForObject(nextUserIdBlock, Long.class);
+            for (long id = hi - User.ID_ALLOCATION_SIZE + 1; id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static class Job {
+        final String id;
+        final Path upload;
+        volatile UserImportJobResponse.Status status = UserImportJobResponse.Status.QUEUED;
+        volatile int processed;
+        volatile UserImportResponse result;
+        volatile String message;
+
+        Job(String id, Path upload) {
+            this.id = id;
+            this.upload = upload;
+        }
+
+        UserImportJobResponse response() {
+            return new UserImportJobResponse(id, status, processed, result, message);
+        }
+    }
+
+    private static class Row {
+        final int line;
+        SignupRequest request;
+        Set<ERole> roles;
+        String passwordHash;
+        Long id;
+        String error;
+
+        Row(int line) {
+            this.line = line;
+        }
+
+        // the unique indexes of the users table ignore case
+        String username() {
+            return request.getUsername().toLowerCase(Locale.ROOT);
+        }
+
+        String email() {
+            return request.getEmail().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package educationManagementSystem.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.payload.responce.UserPageResponse;
+import educationManagementSystem.payload.responce.UserSummaryResponse;
+import educationManagementSystem.repository.UserExportView;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.repository.UserRoleView;
+import educationManagementSystem.repository.UserSummaryView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Admin view of the user base. Pages seek on {@code users.id} so every page costs the same
+ * whatever its position; the export walks one forward-only cursor ordered by id and writes each
+ * user as soon as its last role row is read, so memory does not grow with the number of users.
+ */
+@Service
+public class UserListingService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public UserPageResponse page(long afterId, int size, ERole role) {
+        // one extra row tells whether there is a next page
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<UserSummaryView> rows = role == null
+                ? userRepository.findPageAfter(afterId, limit)
+                : userRepository.findPageAfterByRole(afterId, role, limit);
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        Map<Long, List<String>> roles = new HashMap<>();
+        if (!rows.isEmpty()) {
+            List<Long> ids = rows.stream().map(UserSummaryView::getId).collect(Collectors.toList());
+            for (UserRoleView row : userRepository.findRolesByUserIds(ids)) {
+                roles.computeIfAbsent(row.getId(), id -> new ArrayList<>()).add(row.getRole().name());
+            }
+        }
+
+        List<UserSummaryResponse> users = new ArrayList<>(rows.size());
+        for (UserSummaryView row : rows) {
+            users.add(new UserSummaryResponse(row.getId(), row.getUsername(), row.getEmail(),
+                    roles.getOrDefault(row.getId(), new ArrayList<>())));
+        }
+
+        Long nextAfterId = hasNext ? rows.get(rows.size() - 1).getId() : null;
+        return new UserPageResponse(users, nextAfterId);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Format format, ERole role, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writerFor(UserSummaryResponse.class);
+        if (format == Format.CSV) {
+            writer.write("id,username,email,roles\n");
+        }
+
+        try (Stream<UserExportView> rows = role == null
+                ? userRepository.streamAllForExport()
+                : userRepository.streamByRoleForExport(role)) {
+            UserSummaryResponse current = null;
+            Iterator<UserExportView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                UserExportView row = iterator.next();
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        write(format, current, json, writer);
+                    }
+                    current = new UserSummaryResponse(row.getId(), row.getUsername(), row.getEmail(),
+                            new ArrayList<>(2));
+                }
+                if (row.getRole() != null) {
+                    current.getRoles().add(row.getRole().name());
+                }
+            }
+            if (current != null) {
+                write(format, current, json, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private static void write(Format format, UserSummaryResponse user, ObjectWriter json, Writer writer)
+            throws IOException {
+        if (format == Format.NDJSON) {
+            writer.write(json.writeValueAsString(user));
+        } else {
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writer.write(csv(user.getUsername()));
+            writer.write(',');
+            writer.write(csv(user.getEmail()));
+            writer.write(',');
+            writer.write(csv(String.join(";", user.getRoles())));
+        }
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,3 +0,0 @@
-INSERT INTO roles(name) VALUES('ROLE_USER');
-INSERT INTO roles(name) VALUES('ROLE_TEACHER');
-INSERT INTO roles(name) VALUES('ROLE_ADMIN');
@@ -0,0 +1,7 @@
+-- Bumped with every change of a user's roles or password. Tokens carry the version they were issued
+-- with, and SecurityVersionRegistry reads this column when its cached entry is missing or expired,
+-- so a token issued before the change is not trusted on any instance, also after a restart.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version INTEGER DEFAULT 0 NOT NULL;
+
+INSERT INTO role_permissions(role_name, permission) VALUES
+('ROLE_ADMIN', 'USER_MANAGE');
@@ -0,0 +1,3 @@
+INSERT INTO roles(name) SELECT 'ROLE_USER' WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ROLE_USER');
+INSERT INTO roles(name) SELECT 'ROLE_TEACHER' WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ROLE_TEACHER');
+INSERT INTO roles(name) SELECT 'ROLE_ADMIN' WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ROLE_ADMIN');
@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS courses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(20) NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    CONSTRAINT uk_courses_code UNIQUE (code)
+);
+
+-- enrolled and waitlisted are written behind by the enrollment service, which holds the live counts
+CREATE TABLE IF NOT EXISTS sections (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_id BIGINT NOT NULL,
+    code VARCHAR(20) NOT NULL,
+    capacity INTEGER NOT NULL,
+    enrolled INTEGER DEFAULT 0 NOT NULL,
+    waitlisted INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_sections_course_code UNIQUE (course_id, code),
+    CONSTRAINT fk_sections_course FOREIGN KEY (course_id) REFERENCES courses (id),
+    CONSTRAINT ck_sections_capacity CHECK (capacity >= 0)
+);
+
+-- the primary key doubles as the section_id index; requested_at orders the waitlist
+CREATE TABLE IF NOT EXISTS enrollments (
+    section_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    requested_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_enrollments PRIMARY KEY (section_id, user_id),
+    CONSTRAINT fk_enrollments_section FOREIGN KEY (section_id) REFERENCES sections (id),
+    CONSTRAINT fk_enrollments_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_enrollments_user_id ON enrollments (user_id);
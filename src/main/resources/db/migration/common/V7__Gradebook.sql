@@ -0,0 +1,43 @@
+-- the primary key doubles as the section_id index
+CREATE TABLE IF NOT EXISTS grades (
+    section_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    item VARCHAR(40) NOT NULL,
+    score NUMERIC(5, 2) NOT NULL,
+    graded_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_grades PRIMARY KEY (section_id, user_id, item),
+    CONSTRAINT fk_grades_section FOREIGN KEY (section_id) REFERENCES sections (id),
+    CONSTRAINT fk_grades_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT ck_grades_score CHECK (score >= 0 AND score <= 100)
+);
+
+-- Running aggregates, updated in the transaction that writes the grades. Sums, min and max are
+-- in hundredths of a point so that they stay exact; average is stored so that a rank is an
+-- index range count.
+CREATE TABLE IF NOT EXISTS grade_stats_student (
+    section_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    grade_count INTEGER NOT NULL,
+    score_sum BIGINT NOT NULL,
+    score_square_sum BIGINT NOT NULL,
+    score_min INTEGER NOT NULL,
+    score_max INTEGER NOT NULL,
+    average DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_grade_stats_student PRIMARY KEY (section_id, user_id),
+    CONSTRAINT fk_grade_stats_student_section FOREIGN KEY (section_id) REFERENCES sections (id),
+    CONSTRAINT fk_grade_stats_student_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_grade_stats_student_user_id ON grade_stats_student (user_id);
+CREATE INDEX IF NOT EXISTS idx_grade_stats_student_average ON grade_stats_student (section_id, average);
+
+CREATE TABLE IF NOT EXISTS grade_stats_section (
+    section_id BIGINT PRIMARY KEY,
+    student_count INTEGER NOT NULL,
+    grade_count INTEGER NOT NULL,
+    score_sum BIGINT NOT NULL,
+    score_square_sum BIGINT NOT NULL,
+    score_min INTEGER NOT NULL,
+    score_max INTEGER NOT NULL,
+    CONSTRAINT fk_grade_stats_section_section FOREIGN KEY (section_id) REFERENCES sections (id)
+);
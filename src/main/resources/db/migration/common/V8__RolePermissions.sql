@@ -0,0 +1,29 @@
+-- Keyed by the ERole name rather than the roles id, so that the mapping is the same in every
+-- database. Read and compiled by PermissionRegistry, which picks up changes without a restart.
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_name VARCHAR(20) NOT NULL,
+    permission VARCHAR(40) NOT NULL,
+    CONSTRAINT pk_role_permissions PRIMARY KEY (role_name, permission)
+);
+
+INSERT INTO role_permissions(role_name, permission) VALUES
+('ROLE_USER', 'USER_BOARD_VIEW'),
+('ROLE_USER', 'COURSE_VIEW'),
+('ROLE_USER', 'ENROLLMENT_SELF'),
+('ROLE_USER', 'GRADE_VIEW_OWN'),
+('ROLE_USER', 'DASHBOARD_VIEW'),
+('ROLE_TEACHER', 'USER_BOARD_VIEW'),
+('ROLE_TEACHER', 'TEACHER_BOARD_VIEW'),
+('ROLE_TEACHER', 'COURSE_VIEW'),
+('ROLE_TEACHER', 'COURSE_MANAGE'),
+('ROLE_TEACHER', 'GRADE_MANAGE'),
+('ROLE_ADMIN', 'USER_BOARD_VIEW'),
+('ROLE_ADMIN', 'ADMIN_BOARD_VIEW'),
+('ROLE_ADMIN', 'COURSE_VIEW'),
+('ROLE_ADMIN', 'COURSE_MANAGE'),
+('ROLE_ADMIN', 'GRADE_MANAGE'),
+('ROLE_ADMIN', 'USER_LIST'),
+('ROLE_ADMIN', 'USER_EXPORT'),
+('ROLE_ADMIN', 'USER_IMPORT'),
+('ROLE_ADMIN', 'SESSION_REVOKE'),
+('ROLE_ADMIN', 'PERMISSION_RELOAD');
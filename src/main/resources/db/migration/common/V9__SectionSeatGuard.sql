@@ -0,0 +1,3 @@
+-- The write-behind derives enrolled from the enrollment rows under a lock on the section, so this
+-- rejects a flush that would store more enrolled students than seats, whichever instance sent it
+ALTER TABLE sections ADD CONSTRAINT ck_sections_enrolled CHECK (enrolled <= capacity);
@@ -0,0 +1,3 @@
+-- See postgresql/V11: the V4 unique indexes on the lower-cased keys are the only ones kept
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_username;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_email;
@@ -0,0 +1,5 @@
+-- H2 has no expression indexes: keep a lower-cased copy of the keys in computed columns
+ALTER TABLE users ADD COLUMN IF NOT EXISTS username_lower VARCHAR(20) AS LOWER(username);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_lower VARCHAR(50) AS LOWER(email);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_lower ON users (username_lower);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_lower ON users (email_lower);
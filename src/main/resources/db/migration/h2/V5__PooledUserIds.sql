@@ -0,0 +1,3 @@
+-- See postgresql/V5. H2 only backs the tests, whose fixtures insert explicit low ids
+CREATE SEQUENCE IF NOT EXISTS users_id_seq START WITH 1000 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN id BIGINT DEFAULT NEXT VALUE FOR users_id_seq;
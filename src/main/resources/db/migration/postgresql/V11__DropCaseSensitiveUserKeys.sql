@@ -0,0 +1,21 @@
+-- The unique indexes on lower(username) and lower(email) of V4 already reject every value the
+-- case-sensitive keys of V1 would, so those only cost a second index update per insert. Databases
+-- created by ddl-auto have the same keys under Hibernate's UK_<hash> names: any unique constraint
+-- on the username or email column alone is dropped.
+DO $$
+DECLARE
+    key record;
+BEGIN
+    FOR key IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.conrelid = 'users'::regclass
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname IN ('username', 'email')
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', key.conname);
+    END LOOP;
+END
+$$;
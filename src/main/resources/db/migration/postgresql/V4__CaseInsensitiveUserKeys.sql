@@ -0,0 +1,3 @@
+-- Serve the lower(..) lookups of UserRepository.existsByUsername/existsByEmail
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_lower ON users (lower(username));
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_lower ON users (lower(email));
@@ -0,0 +1,9 @@
+-- User ids come from a sequence handed out in blocks of 50 (allocationSize of User.id), so Hibernate
+-- knows an id before the insert and can batch it. V1 created an identity column, ddl-auto a serial one.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_id_seq;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50 OWNED BY users.id;
+-- the first block starts right after the existing ids
+SELECT setval('users_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+-- inserts that leave out the id take a whole block and use its last value
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
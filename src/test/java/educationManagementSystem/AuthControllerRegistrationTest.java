@@ -0,0 +1,184 @@
+package educationManagementSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import educationManagementSystem.controllers.AuthController;
+import educationManagementSystem.payload.request.SignupRequest;
+import educationManagementSystem.payload.responce.MessageResponse;
+import educationManagementSystem.repository.RoleRepository;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.services.RoleRegistry;
+import educationManagementSystem.services.SignupConflicts;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования регистрации пользователей в {@link AuthController}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.config.location=classpath:application-test.yml",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class AuthControllerRegistrationTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    AuthController authController;
+
+    Statistics statistics;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link AuthController}
+     * и счётчика запросов Hibernate.
+     */
+    @BeforeEach
+    void setUp() {
+
+        authController = new AuthController();
+        ReflectionTestUtils.setField(authController, "userRepository", userRepository);
+        RoleRegistry roleRegistry = new RoleRegistry();
+        ReflectionTestUtils.setField(roleRegistry, "roleRepository", roleRepository);
+        roleRegistry.load();
+        ReflectionTestUtils.setField(authController, "roleRegistry", roleRegistry);
+        ReflectionTestUtils.setField(authController, "encoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(authController, "eventPublisher", eventPublisher);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+    }
+
+    @Test
+    void registerUser_ChecksNamesBeforeHashing_Test() {
+
+        assertThat(authController.registerUser(signup("alice", "alice@school.edu", "teacher", "admin"))
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        // two name checks, an id block unless another test reserved one, users insert, user_roles batch
+        assertThat(statistics.getPrepareStatementCount()).isBetween(4L, 5L);
+
+        statistics.clear();
+        assertThat(authController.registerUser(signup("bob", "bob@school.edu")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        // the second id comes from the block already reserved
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        statistics.clear();
+        assertThat(message(authController.registerUser(signup("ALICE", "other@school.edu"))))
+                .isEqualTo("Error: Username is already taken!");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(message(authController.registerUser(signup("carol", "Bob@School.edu"))))
+                .isEqualTo("Error: Email is already in use!");
+
+        assertThat(jdbcTemplate.queryForList("SELECT r.name FROM users u JOIN user_roles ur ON ur.user_id = u.id "
+                + "JOIN roles r ON r.id = ur.role_id WHERE u.username = 'alice' ORDER BY r.name", String.class))
+                .containsExactly("ROLE_ADMIN", "ROLE_TEACHER");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isEqualTo(5);
+
+    }
+
+    @Test
+    void registerUser_ConcurrentDuplicates_Test() throws Exception {
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String email = "dave" + i + "@school.edu";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return authController.registerUser(signup("dave", email));
+                }));
+            }
+            start.countDown();
+
+            List<ResponseEntity<?>> responses = new ArrayList<>();
+            for (Future<ResponseEntity<?>> future : futures) {
+                responses.add(future.get(10, TimeUnit.SECONDS));
+            }
+            assertThat(responses).filteredOn(response -> response.getStatusCode() == HttpStatus.OK).hasSize(1);
+            assertThat(responses).filteredOn(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+                    .extracting(response -> ((MessageResponse) response.getBody()).getMessage())
+                    .containsOnly("Error: Username is already taken!")
+                    .hasSize(3);
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    void signupConflicts_HashNamedKeys_Test() {
+
+        assertThat(SignupConflicts.message("Unique index or primary key violation: "
+                + "\"PUBLIC.UK_R43AF9AP4EDM43MMTQ01ODDJ6_INDEX_4 ON PUBLIC.USERS(USERNAME) VALUES ('email')\"",
+                SignupConflicts.UNIQUE_VIOLATION)).isEqualTo(SignupConflicts.USERNAME_TAKEN);
+        assertThat(SignupConflicts.message("duplicate key value violates unique constraint \"uk6dotkott2kjsp8vw4d0m25fb7\""
+                + "  Detail: Key (email)=(username@school.edu) already exists.",
+                SignupConflicts.UNIQUE_VIOLATION)).isEqualTo(SignupConflicts.EMAIL_IN_USE);
+        assertThat(SignupConflicts.message("Key (username)=(bob)", "23503")).isNull();
+
+    }
+
+    private static SignupRequest signup(String username, String email, String... roles) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("password");
+        if (roles.length > 0) {
+            request.setRole(new HashSet<>(Arrays.asList(roles)));
+        }
+        return request;
+    }
+
+    private static String message(ResponseEntity<?> response) {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        return ((MessageResponse) response.getBody()).getMessage();
+    }
+
+}
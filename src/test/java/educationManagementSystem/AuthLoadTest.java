@@ -0,0 +1,288 @@
+package educationManagementSystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import educationManagementSystem.model.ERole;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный тест аутентификации на профиле H2: логин, регистрация и запросы с JWT.
+ * Запускается профилем {@code load-test} и падает, если результаты хуже порогов
+ * из {@code load-test-thresholds.properties}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = { "spring.config.location=classpath:application-load.yml" })
+class AuthLoadTest {
+
+    static final String PASSWORD = "load-password";
+
+    enum Operation {
+        LOGIN,
+        REGISTER,
+        USER
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder encoder;
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    int users;
+    int concurrency;
+    int durationSeconds;
+    Map<Operation, Integer> mix;
+    List<String> tokens;
+
+    /**
+     * Заполнение базы N пользователями и получение токенов для запросов к /api/test/user.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+
+        users = Integer.getInteger("load.users", 200);
+        concurrency = Integer.getInteger("load.concurrency", 16);
+        durationSeconds = Integer.getInteger("load.durationSeconds", 30);
+        mix = parseMix(System.getProperty("load.mix", "login:10,register:5,user:85"));
+
+        seedUsers();
+
+        tokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(users, 50); i++) {
+            Response response = post("/api/auth/login", loginBody(i), null);
+            assertThat(response.status).isEqualTo(200);
+            tokens.add(objectMapper.readTree(response.body).get("accessToken").asText());
+        }
+
+    }
+
+    @Test
+    void authenticationPath_MeetsThresholds_Test() throws Exception {
+
+        Map<Operation, List<Long>> latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, Collections.synchronizedList(new ArrayList<>()));
+        }
+        AtomicLong errors = new AtomicLong();
+        AtomicInteger registrations = new AtomicInteger();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            workers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(random.nextInt(totalWeight));
+                    long started = System.nanoTime();
+                    Response response = execute(operation, random, registrations);
+                    long elapsed = System.nanoTime() - started;
+
+                    if (response.status == 200) {
+                        latencies.get(operation).add(elapsed);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        Properties thresholds = new Properties();
+        try (InputStream in = new ClassPathResource("load-test-thresholds.properties").getInputStream()) {
+            thresholds.load(in);
+        }
+
+        SoftAssertions softly = new SoftAssertions();
+        long completed = 0;
+        System.out.printf("%n%-10s %10s %12s %10s %10s %10s%n", "operation", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Operation operation : Operation.values()) {
+            List<Long> samples = new ArrayList<>(latencies.get(operation));
+            Collections.sort(samples);
+            completed += samples.size();
+            if (samples.isEmpty()) {
+                continue;
+            }
+
+            String name = operation.name().toLowerCase();
+            double throughput = samples.size() / (double) durationSeconds;
+            double p50 = percentile(samples, 50);
+            double p95 = percentile(samples, 95);
+            double p99 = percentile(samples, 99);
+            System.out.printf("%-10s %10d %12.1f %10.2f %10.2f %10.2f%n", name, samples.size(), throughput, p50, p95, p99);
+
+            softly.assertThat(p50).as(name + " p50").isLessThanOrEqualTo(threshold(thresholds, name + ".p50Ms"));
+            softly.assertThat(p95).as(name + " p95").isLessThanOrEqualTo(threshold(thresholds, name + ".p95Ms"));
+            softly.assertThat(p99).as(name + " p99").isLessThanOrEqualTo(threshold(thresholds, name + ".p99Ms"));
+            softly.assertThat(throughput).as(name + " throughput")
+                    .isGreaterThanOrEqualTo(threshold(thresholds, name + ".minThroughput"));
+        }
+
+        double errorRate = errors.get() / (double) Math.max(1, completed + errors.get());
+        System.out.printf("errors: %d (%.2f%%)%n", errors.get(), errorRate * 100);
+        softly.assertThat(errorRate).as("error rate").isLessThanOrEqualTo(threshold(thresholds, "errorRate.max"));
+        softly.assertAll();
+
+    }
+
+    private Response execute(Operation operation, ThreadLocalRandom random, AtomicInteger registrations)
+            throws IOException {
+        switch (operation) {
+            case LOGIN:
+                return post("/api/auth/login", loginBody(random.nextInt(users)), null);
+            case REGISTER:
+                int n = registrations.incrementAndGet();
+                return post("/api/auth/register", "{\"username\":\"lr" + n + "\",\"email\":\"lr" + n
+                        + "@load.test\",\"password\":\"" + PASSWORD + "\"}", null);
+            default:
+                return get("/api/test/user", tokens.get(random.nextInt(tokens.size())));
+        }
+    }
+
+    private Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.USER;
+    }
+
+    private void seedUsers() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM roles", Integer.class) == 0) {
+            for (ERole role : ERole.values()) {
+                jdbcTemplate.update("INSERT INTO roles(name) VALUES (?)", role.name());
+            }
+        }
+        Integer roleId = jdbcTemplate.queryForObject(
+                "SELECT id FROM roles WHERE name = ?", Integer.class, ERole.ROLE_USER.name());
+
+        String hash = encoder.encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{"load" + i, "load" + i + "@load.test", hash});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users(username, email, password) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.update("INSERT INTO user_roles(user_id, role_id) "
+                + "SELECT id, ? FROM users WHERE username LIKE 'load%'", roleId);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> result = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            result.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return result;
+    }
+
+    private static double percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static double threshold(Properties thresholds, String key) {
+        String value = thresholds.getProperty(key);
+        if (value == null) {
+            return key.endsWith("minThroughput") ? 0 : Double.MAX_VALUE;
+        }
+        return Double.parseDouble(value);
+    }
+
+    private static String loginBody(int user) {
+        return "{\"username\":\"load" + user + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private Response get(String path, String token) throws IOException {
+        return send("GET", path, null, token);
+    }
+
+    private Response post(String path, String json, String token) throws IOException {
+        return send("POST", path, json, token);
+    }
+
+    private Response send(String method, String path, String json, String token) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setRequestMethod(method);
+        if (token != null) {
+            connection.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        if (json != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    body.write(buffer, 0, read);
+                }
+            }
+        }
+        return new Response(status, body.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    static class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package educationManagementSystem;
+
+import java.util.concurrent.TimeUnit;
+
+import educationManagementSystem.bulkhead.Bulkhead;
+import educationManagementSystem.bulkhead.BulkheadFilter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link Bulkhead}.
+ */
+class BulkheadTest {
+
+    @Test
+    void tryAcquire_FailsFastWhenLimitAndQueueAreFull_Test() throws InterruptedException {
+
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, 10, false);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+
+        bulkhead.release(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(bulkhead.tryAcquire()).isTrue();
+
+    }
+
+    @Test
+    void release_ShrinksLimitWhenLatencyGrows_Test() throws InterruptedException {
+
+        Bulkhead bulkhead = new Bulkhead("test", 100, 0, 10, true);
+
+        admitWithLatency(bulkhead, 1);
+        assertThat(bulkhead.getLimit()).isEqualTo(100);
+
+        admitWithLatency(bulkhead, 20);
+        assertThat(bulkhead.getLimit()).isLessThan(100).isGreaterThanOrEqualTo(90);
+
+    }
+
+    @Test
+    void doFilter_HoldsPermitUntilAsyncRequestCompletes_Test() throws Exception {
+
+        Bulkhead read = new Bulkhead("read", 1, 0, 10, false);
+        BulkheadFilter filter = new BulkheadFilter(
+                new Bulkhead("auth", 1, 0, 10, false), read, new Bulkhead("write", 1, 0, 10, false), 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users/export");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertThat(read.getInFlight()).isEqualTo(1);
+        assertThat(read.tryAcquire()).isFalse();
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(read.getInFlight()).isZero();
+        assertThat(read.tryAcquire()).isTrue();
+
+    }
+
+    private void admitWithLatency(Bulkhead bulkhead, long millis) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1100);
+        while (System.nanoTime() < until) {
+            assertThat(bulkhead.tryAcquire()).isTrue();
+            bulkhead.release(TimeUnit.MILLISECONDS.toNanos(millis));
+            Thread.sleep(5);
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package educationManagementSystem;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import educationManagementSystem.controllers.DashboardController;
+import educationManagementSystem.dashboard.DashboardService;
+import educationManagementSystem.enrollment.EnrollmentService;
+import educationManagementSystem.enrollment.EnrollmentWriteBehind;
+import educationManagementSystem.enrollment.StudentsChangedEvent;
+import educationManagementSystem.gradebook.GradebookService;
+import educationManagementSystem.model.Course;
+import educationManagementSystem.model.Section;
+import educationManagementSystem.payload.request.GradeRequest;
+import educationManagementSystem.repository.CourseRepository;
+import educationManagementSystem.repository.SectionRepository;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link DashboardService}.
+ */
+@DataJpaTest
+@Import({DashboardService.class, GradebookService.class, EnrollmentService.class, EnrollmentWriteBehind.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardServiceTest {
+
+    @Autowired
+    DashboardService dashboardService;
+
+    @Autowired
+    GradebookService gradebookService;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentWriteBehind writeBehind;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    SectionRepository sectionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private long algebra;
+
+    private long history;
+
+    /**
+     * Инициализация студентов и двух секций.
+     */
+    @BeforeEach
+    void setUp() {
+
+        List<Object[]> students = new ArrayList<>();
+        for (long id = 100; id < 103; id++) {
+            students.add(new Object[]{id, "student" + id, "student" + id + "@school.edu", "secret"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users(id, username, email, password) VALUES (?, ?, ?, ?)", students);
+
+        algebra = sectionRepository.saveAndFlush(
+                new Section(courseRepository.saveAndFlush(new Course("MATH101", "Algebra")), "A", 10)).getId();
+        history = sectionRepository.saveAndFlush(
+                new Section(courseRepository.saveAndFlush(new Course("HIST101", "World History")), "A", 10)).getId();
+
+    }
+
+    /**
+     * Запись отложенных изменений до очистки таблиц.
+     */
+    @AfterEach
+    void tearDown() {
+
+        writeBehind.flushAll();
+
+    }
+
+    @Test
+    void get_InvalidatedForAffectedStudents_Test() {
+
+        enrollmentService.enroll(algebra, 100);
+        enrollmentService.enroll(history, 100);
+        enrollmentService.enroll(algebra, 101);
+        writeBehind.flushAll();
+
+        DashboardService.Dashboard first = dashboardService.get(100);
+        assertThat(json(first)).contains("\"HIST101\"", "\"MATH101\"", "\"ENROLLED\"");
+        assertThat(dashboardService.get(100)).isSameAs(first);
+        DashboardService.Dashboard other = dashboardService.get(101);
+
+        // another student's enrollment leaves this dashboard alone
+        enrollmentService.enroll(history, 102);
+        writeBehind.flushAll();
+        assertThat(dashboardService.get(100)).isSameAs(first);
+
+        enrollmentService.drop(history, 100);
+        writeBehind.flushAll();
+        DashboardService.Dashboard dropped = dashboardService.get(100);
+        assertThat(dropped).isNotSameAs(first);
+        assertThat(json(dropped)).doesNotContain("HIST101");
+        assertThat(dashboardService.get(101)).isSameAs(other);
+
+        // a grade moves the ranks of everybody graded in the section
+        gradebookService.upload(algebra, Arrays.asList(new GradeRequest(101L, "quiz", new BigDecimal("70"))));
+        DashboardService.Dashboard graded = dashboardService.get(101);
+        assertThat(graded).isNotSameAs(other);
+        assertThat(dashboardService.get(100)).isSameAs(dropped);
+        gradebookService.upload(algebra, Arrays.asList(new GradeRequest(100L, "quiz", new BigDecimal("95"))));
+        assertThat(json(dashboardService.get(100))).contains("\"rank\":1");
+        assertThat(json(dashboardService.get(101))).contains("\"rank\":2");
+
+    }
+
+    @Test
+    void dashboard_NotModified_Test() {
+
+        enrollmentService.enroll(algebra, 100);
+        writeBehind.flushAll();
+        DashboardService.Dashboard first = dashboardService.get(100);
+
+        // rebuilt with the same content, the dashboard keeps its tag
+        dashboardService.onStudentsChanged(new StudentsChangedEvent(Collections.singleton(100L),
+                StudentsChangedEvent.Type.ENROLLMENT));
+        DashboardService.Dashboard rebuilt = dashboardService.get(100);
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(rebuilt.getEtag()).isEqualTo(first.getEtag());
+
+        DashboardController controller = new DashboardController();
+        ReflectionTestUtils.setField(controller, "dashboardService", dashboardService);
+        UserDetailsImpl user = new UserDetailsImpl(100L, "student100", "student100@school.edu", "secret",
+                Collections.emptyList());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<byte[]> fresh = controller.dashboard(user, new ServletWebRequest(request, response));
+        assertThat(fresh.getStatusCodeValue()).isEqualTo(200);
+        assertThat(fresh.getHeaders().getETag()).isEqualTo(first.getEtag());
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getEtag());
+        assertThat(controller.dashboard(user, new ServletWebRequest(request, response))).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+
+    }
+
+    private static String json(DashboardService.Dashboard dashboard) {
+        return new String(dashboard.getJson(), StandardCharsets.UTF_8);
+    }
+}
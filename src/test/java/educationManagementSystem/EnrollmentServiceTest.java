@@ -0,0 +1,293 @@
+package educationManagementSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import educationManagementSystem.datasource.PrimaryReadTransactionTemplate;
+import educationManagementSystem.enrollment.EnrollmentService;
+import educationManagementSystem.enrollment.EnrollmentWriteBehind;
+import educationManagementSystem.model.Course;
+import educationManagementSystem.model.EnrollmentStatus;
+import educationManagementSystem.model.Section;
+import educationManagementSystem.payload.responce.EnrollmentResponse;
+import educationManagementSystem.payload.responce.SectionResponse;
+import educationManagementSystem.repository.CourseRepository;
+import educationManagementSystem.repository.EnrollmentRepository;
+import educationManagementSystem.repository.SectionRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс для тестирования public методов {@link EnrollmentService}.
+ */
+@DataJpaTest
+@Import({EnrollmentService.class, EnrollmentWriteBehind.class})
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml",
+        "habatoo.app.enrollment.flushIntervalMs=50", "habatoo.app.enrollment.flushBatchSize=500" })
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EnrollmentServiceTest {
+
+    private static final long FIRST_STUDENT = 100;
+
+    private static final int STUDENTS = 300;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentWriteBehind writeBehind;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    SectionRepository sectionRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private Course course;
+
+    /**
+     * Инициализация студентов и курса.
+     */
+    @BeforeEach
+    void setUp() {
+
+        List<Object[]> students = new ArrayList<>();
+        for (long id = FIRST_STUDENT; id < FIRST_STUDENT + STUDENTS; id++) {
+            students.add(new Object[]{id, "student" + id, "student" + id + "@school.edu", "secret"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users(id, username, email, password) VALUES (?, ?, ?, ?)", students);
+
+        course = courseRepository.saveAndFlush(new Course("CS101", "Introduction to Programming"));
+
+    }
+
+    /**
+     * Запись отложенных изменений до очистки таблиц.
+     */
+    @AfterEach
+    void tearDown() {
+
+        writeBehind.flushAll();
+
+    }
+
+    @Test
+    void enroll_WaitlistAndPromotion_Test() {
+
+        long sectionId = section("A", 2).getId();
+
+        assertThat(enrollmentService.enroll(sectionId, 100).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(enrollmentService.enroll(sectionId, 101).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        EnrollmentResponse waitlisted = enrollmentService.enroll(sectionId, 102);
+        assertThat(waitlisted.getStatus()).isEqualTo(EnrollmentStatus.WAITLISTED);
+        assertThat(waitlisted.getWaitlistPosition()).isEqualTo(1);
+        assertThat(enrollmentService.enroll(sectionId, 103).getWaitlistPosition()).isEqualTo(2);
+        assertThat(enrollmentService.enroll(sectionId, 102).getWaitlistPosition()).isEqualTo(1);
+
+        EnrollmentResponse dropped = enrollmentService.drop(sectionId, 100);
+        assertThat(dropped.getStatus()).isNull();
+        assertThat(enrollmentService.placement(sectionId, 102).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(enrollmentService.placement(sectionId, 103).getWaitlistPosition()).isEqualTo(1);
+
+        assertThatThrownBy(() -> enrollmentService.setCapacity(sectionId, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        SectionResponse raised = enrollmentService.setCapacity(sectionId, 3);
+        assertThat(raised.getEnrolled()).isEqualTo(3);
+        assertThat(raised.getWaitlisted()).isEqualTo(0);
+        assertThat(enrollmentService.placement(sectionId, 103).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+
+        assertThat(enrollmentService.enroll(Long.MAX_VALUE, 100)).isNull();
+
+        writeBehind.flushAll();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT user_id FROM enrollments WHERE section_id = ? AND status = 'ENROLLED' ORDER BY user_id",
+                Long.class, sectionId)).containsExactly(101L, 102L, 103L);
+        Map<String, Object> counts = jdbcTemplate.queryForMap(
+                "SELECT capacity, enrolled, waitlisted FROM sections WHERE id = ?", sectionId);
+        assertThat(counts.get("CAPACITY")).isEqualTo(3);
+        assertThat(counts.get("ENROLLED")).isEqualTo(3);
+        assertThat(counts.get("WAITLISTED")).isEqualTo(0);
+
+    }
+
+    /**
+     * Нагрузочный тест: запускается профилем {@code load-test}.
+     */
+    @Tag("load")
+    @Test
+    void enroll_ConcurrentStudents_Test() throws Exception {
+
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sections.add(section("S" + i, 25));
+        }
+
+        int threads = 8;
+        int operationsPerThread = 20_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> violation = new AtomicReference<>();
+
+        // no observer may ever see more students than seats, or a waitlist next to a free seat
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                for (Section section : sections) {
+                    SectionResponse counts = enrollmentService.describe(section);
+                    if (counts.getEnrolled() > counts.getCapacity()
+                            || counts.getWaitlisted() > 0 && counts.getEnrolled() < counts.getCapacity()) {
+                        violation.compareAndSet(null, section.getCode() + ": " + counts.getEnrolled() + "/"
+                                + counts.getCapacity() + " waitlisted " + counts.getWaitlisted());
+                    }
+                }
+            }
+        });
+        sampler.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    long sectionId = sections.get(random.nextInt(sections.size())).getId();
+                    long studentId = FIRST_STUDENT + random.nextInt(STUDENTS);
+                    if (random.nextInt(10) < 7) {
+                        enrollmentService.enroll(sectionId, studentId);
+                    } else {
+                        enrollmentService.drop(sectionId, studentId);
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        sampler.join();
+        executor.shutdown();
+
+        double throughput = threads * operationsPerThread / seconds;
+        assertThat(violation.get()).isNull();
+        assertThat(throughput).as("enrollment ops/s, %d changes pending", writeBehind.getPendingCount())
+                .isGreaterThan(5_000);
+
+        // what was written behind must load back into exactly the same seats and waitlists
+        writeBehind.flushAll();
+        assertThat(writeBehind.getPendingCount()).isEqualTo(0);
+        EnrollmentService reloaded = otherInstance();
+
+        for (Section section : sections) {
+            SectionResponse live = enrollmentService.describe(section);
+            assertThat(live.getEnrolled()).isEqualTo(live.getCapacity());
+            Map<String, Object> stored = jdbcTemplate.queryForMap(
+                    "SELECT enrolled, waitlisted FROM sections WHERE id = ?", section.getId());
+            assertThat(stored.get("ENROLLED")).isEqualTo(live.getEnrolled());
+            assertThat(stored.get("WAITLISTED")).isEqualTo(live.getWaitlisted());
+
+            for (long studentId = FIRST_STUDENT; studentId < FIRST_STUDENT + STUDENTS; studentId++) {
+                EnrollmentResponse expected = enrollmentService.placement(section.getId(), studentId);
+                EnrollmentResponse actual = reloaded.placement(section.getId(), studentId);
+                assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+                assertThat(actual.getWaitlistPosition()).isEqualTo(expected.getWaitlistPosition());
+            }
+        }
+
+    }
+
+    @Test
+    void flush_RejectedEnrollmentReloadsSection_Test() {
+
+        long sectionId = section("A", 2).getId();
+        long rejected = writeBehind.getRejectedCount();
+
+        // the user does not exist, so the database refuses the seat the memory handed out
+        enrollmentService.enroll(sectionId, 100);
+        assertThat(enrollmentService.enroll(sectionId, 99_999).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(enrollmentService.enroll(sectionId, 101).getStatus()).isEqualTo(EnrollmentStatus.WAITLISTED);
+        writeBehind.flushAll();
+        assertThat(writeBehind.getRejectedCount()).isEqualTo(rejected + 1);
+
+        assertThat(enrollmentService.placement(sectionId, 99_999).getStatus()).isNull();
+        assertThat(enrollmentService.placement(sectionId, 101).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        writeBehind.flushAll();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT user_id FROM enrollments WHERE section_id = ? AND status = 'ENROLLED' ORDER BY user_id",
+                Long.class, sectionId)).containsExactly(100L, 101L);
+        Map<String, Object> counts = jdbcTemplate.queryForMap(
+                "SELECT enrolled, waitlisted FROM sections WHERE id = ?", sectionId);
+        assertThat(counts.get("ENROLLED")).isEqualTo(2);
+        assertThat(counts.get("WAITLISTED")).isEqualTo(0);
+
+    }
+
+    @Test
+    void flush_SecondInstanceCannotOversubscribe_Test() {
+
+        long sectionId = section("A", 1).getId();
+        EnrollmentService other = otherInstance();
+        assertThat(other.placement(sectionId, 101).getStatus()).isNull();
+
+        // both instances believe the only seat is theirs to give
+        assertThat(enrollmentService.enroll(sectionId, 100).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(other.enroll(sectionId, 101).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+        writeBehind.flushAll();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT user_id FROM enrollments WHERE section_id = ? AND status = 'ENROLLED'",
+                Long.class, sectionId)).containsExactly(100L);
+        assertThat(jdbcTemplate.queryForObject("SELECT enrolled FROM sections WHERE id = ?", Integer.class,
+                sectionId)).isEqualTo(1);
+        assertThat(enrollmentService.placement(sectionId, 100).getStatus()).isEqualTo(EnrollmentStatus.ENROLLED);
+
+    }
+
+    private EnrollmentService otherInstance() {
+        EnrollmentService other = new EnrollmentService();
+        ReflectionTestUtils.setField(other, "sectionRepository", sectionRepository);
+        ReflectionTestUtils.setField(other, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(other, "writeBehind", writeBehind);
+        ReflectionTestUtils.setField(other, "transactionTemplate",
+                new PrimaryReadTransactionTemplate(transactionTemplate.getTransactionManager()));
+        return other;
+    }
+
+    private Section section(String code, int capacity) {
+        return sectionRepository.saveAndFlush(new Section(course, code, capacity));
+    }
+}
@@ -0,0 +1,214 @@
+package educationManagementSystem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import educationManagementSystem.enrollment.EnrollmentService;
+import educationManagementSystem.enrollment.EnrollmentWriteBehind;
+import educationManagementSystem.gradebook.GradebookService;
+import educationManagementSystem.model.Course;
+import educationManagementSystem.model.Section;
+import educationManagementSystem.payload.request.GradeRequest;
+import educationManagementSystem.payload.responce.CourseGradeResponse;
+import educationManagementSystem.payload.responce.GradeDashboardResponse;
+import educationManagementSystem.payload.responce.GradeUploadResponse;
+import educationManagementSystem.payload.responce.SectionGradesResponse;
+import educationManagementSystem.repository.CourseRepository;
+import educationManagementSystem.repository.SectionRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Класс для тестирования public методов {@link GradebookService}.
+ */
+@DataJpaTest
+@Import({GradebookService.class, EnrollmentService.class, EnrollmentWriteBehind.class})
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GradebookServiceTest {
+
+    private static final long FIRST_STUDENT = 100;
+
+    private static final int STUDENTS = 40;
+
+    @Autowired
+    GradebookService gradebookService;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentWriteBehind writeBehind;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    SectionRepository sectionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private long sectionA;
+
+    private long sectionB;
+
+    /**
+     * Инициализация студентов, двух секций и записи на них.
+     */
+    @BeforeEach
+    void setUp() {
+
+        List<Object[]> students = new ArrayList<>();
+        for (long id = FIRST_STUDENT; id < FIRST_STUDENT + STUDENTS; id++) {
+            students.add(new Object[]{id, "student" + id, "student" + id + "@school.edu", "secret"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users(id, username, email, password) VALUES (?, ?, ?, ?)", students);
+
+        Course algebra = courseRepository.saveAndFlush(new Course("MATH101", "Algebra"));
+        Course history = courseRepository.saveAndFlush(new Course("HIST101", "World History"));
+        sectionA = sectionRepository.saveAndFlush(new Section(algebra, "A", STUDENTS)).getId();
+        sectionB = sectionRepository.saveAndFlush(new Section(history, "A", STUDENTS)).getId();
+        for (long id = FIRST_STUDENT; id < FIRST_STUDENT + STUDENTS; id++) {
+            enrollmentService.enroll(sectionA, id);
+        }
+        for (long id = FIRST_STUDENT; id < FIRST_STUDENT + 5; id++) {
+            enrollmentService.enroll(sectionB, id);
+        }
+
+    }
+
+    /**
+     * Запись отложенных изменений до очистки таблиц.
+     */
+    @AfterEach
+    void tearDown() {
+
+        writeBehind.flushAll();
+
+    }
+
+    @Test
+    void upload_Dashboard_Test() {
+
+        GradeUploadResponse first = gradebookService.upload(sectionA, Arrays.asList(
+                grade(100, "midterm", "95"), grade(100, "final", "85"),
+                grade(101, "midterm", "99.5"), grade(102, "midterm", "70")));
+        assertThat(first.getInserted()).isEqualTo(4);
+        assertThat(first.getUpdated()).isEqualTo(0);
+        gradebookService.upload(sectionB, Arrays.asList(grade(100, "essay", "72")));
+
+        GradeDashboardResponse dashboard = gradebookService.dashboard(100);
+        assertThat(dashboard.getCourses()).extracting(CourseGradeResponse::getCourseCode)
+                .containsExactly("HIST101", "MATH101");
+        CourseGradeResponse algebra = dashboard.getCourses().get(1);
+        assertThat(algebra.getAverage()).isEqualTo(90.0);
+        assertThat(algebra.getStandardDeviation()).isCloseTo(5.0, within(1e-9));
+        assertThat(algebra.getRank()).isEqualTo(2);
+        assertThat(algebra.getStudents()).isEqualTo(3);
+        assertThat(dashboard.getGpa()).isEqualTo(3.0);
+
+        // replacing the maximum with a lower grade has to find the new maximum
+        GradeUploadResponse second = gradebookService.upload(sectionA, Arrays.asList(
+                grade(100, "midterm", "50"), grade(101, "midterm", "60"), grade(102, "midterm", "40")));
+        assertThat(second.getUpdated()).isEqualTo(3);
+        algebra = gradebookService.dashboard(100).getCourses().get(1);
+        assertThat(algebra.getMin()).isEqualTo(50.0);
+        assertThat(algebra.getMax()).isEqualTo(85.0);
+        assertThat(algebra.getRank()).isEqualTo(1);
+
+        SectionGradesResponse summary = gradebookService.summary(sectionA);
+        assertThat(summary.getStudents()).isEqualTo(3);
+        assertThat(summary.getCount()).isEqualTo(4);
+        assertThat(summary.getMin()).isEqualTo(40.0);
+        assertThat(summary.getMax()).isEqualTo(85.0);
+        assertThat(gradebookService.summary(Long.MAX_VALUE)).isNull();
+
+    }
+
+    @Test
+    void upload_AggregatesMatchGrades_Test() {
+
+        Random random = new Random(42);
+        String[] items = {"hw1", "hw2", "hw3", "quiz", "exam"};
+        for (int round = 0; round < 30; round++) {
+            List<GradeRequest> grades = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                long student = FIRST_STUDENT + random.nextInt(STUDENTS);
+                // extremes are frequent so that replacing a minimum or maximum is exercised
+                int hundredths = random.nextInt(4) == 0 ? random.nextInt(2) * 10000 : random.nextInt(10001);
+                grades.add(new GradeRequest(student, items[random.nextInt(items.length)],
+                        BigDecimal.valueOf(hundredths, 2)));
+            }
+            gradebookService.upload(sectionA, grades);
+
+            List<Map<String, Object>> expected = jdbcTemplate.queryForList(
+                    "SELECT user_id, COUNT(*) AS grade_count, SUM(score * 100) AS score_sum, "
+                            + "SUM(score * score * 10000) AS score_square_sum, MIN(score * 100) AS score_min, "
+                            + "MAX(score * 100) AS score_max FROM grades WHERE section_id = ? "
+                            + "GROUP BY user_id ORDER BY user_id", sectionA);
+            List<Map<String, Object>> actual = jdbcTemplate.queryForList(
+                    "SELECT user_id, grade_count, score_sum, score_square_sum, score_min, score_max "
+                            + "FROM grade_stats_student WHERE section_id = ? ORDER BY user_id", sectionA);
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int i = 0; i < expected.size(); i++) {
+                for (String column : new String[]{"USER_ID", "GRADE_COUNT", "SCORE_SUM", "SCORE_SQUARE_SUM",
+                        "SCORE_MIN", "SCORE_MAX"}) {
+                    assertThat(((Number) actual.get(i).get(column)).longValue())
+                            .as("round %d, student %s, %s", round, expected.get(i).get("USER_ID"), column)
+                            .isEqualTo(((Number) expected.get(i).get(column)).longValue());
+                }
+            }
+
+            Map<String, Object> section = jdbcTemplate.queryForMap(
+                    "SELECT COUNT(DISTINCT user_id) AS students, COUNT(*) AS grade_count, MIN(score) AS score_min, "
+                            + "MAX(score) AS score_max, AVG(score) AS average FROM grades WHERE section_id = ?",
+                    sectionA);
+            SectionGradesResponse summary = gradebookService.summary(sectionA);
+            assertThat(summary.getStudents()).isEqualTo(((Number) section.get("STUDENTS")).intValue());
+            assertThat(summary.getCount()).isEqualTo(((Number) section.get("GRADE_COUNT")).intValue());
+            assertThat(summary.getMin()).isEqualTo(((Number) section.get("SCORE_MIN")).doubleValue());
+            assertThat(summary.getMax()).isEqualTo(((Number) section.get("SCORE_MAX")).doubleValue());
+            assertThat(summary.getAverage()).isCloseTo(((Number) section.get("AVERAGE")).doubleValue(),
+                    within(0.01));
+        }
+
+    }
+
+    @Test
+    void upload_NotEnrolled_Test() {
+
+        assertThatThrownBy(() -> gradebookService.upload(sectionB, Arrays.asList(
+                grade(100, "essay", "80"), grade(110, "essay", "90"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("110");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM grades", Integer.class)).isEqualTo(0);
+        assertThat(gradebookService.upload(Long.MAX_VALUE, Arrays.asList(grade(100, "essay", "80")))).isNull();
+        assertThat(gradebookService.dashboard(100).getGpa()).isNull();
+
+    }
+
+    private static GradeRequest grade(long userId, String item, String score) {
+        return new GradeRequest(userId, item, new BigDecimal(score));
+    }
+}
@@ -0,0 +1,172 @@
+package educationManagementSystem;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.JwtKeyRing;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.VerifiedTokenCache;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import educationManagementSystem.security.services.SecurityVersionSource;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link JwtUtils}.
+ */
+class JwtUtilsTest {
+
+    static final String SECRET =
+            "tyX7fRrM+FB5em6NfVZ/iGGTJy/BhYme0STD2WhD5mBFjSOVXh8LAMT/JVHdL6bsqGk6BfkADr2ML2RfSdRsyQ==";
+    static final String NEXT_SECRET =
+            "aGFiYXRvb1NlY3JldEtleWhhYmF0b29TZWNyZXRLZXloYWJhdG9vU2VjcmV0S2V5aGFiYXRvb1NlY3JldEtleQ==";
+
+    JwtUtils jwtUtils;
+    VerifiedTokenCache verifiedTokenCache;
+    SecurityVersionRegistry securityVersionRegistry;
+    AtomicInteger storedVersion;
+    JwtFailureStats jwtFailureStats;
+    UserDetailsImpl userDetails;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link JwtUtils}.
+     */
+    @BeforeEach
+    void setUp() {
+
+        verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maximumSize", 100L);
+        verifiedTokenCache.init();
+
+        securityVersionRegistry = new SecurityVersionRegistry();
+        ReflectionTestUtils.setField(securityVersionRegistry, "maximumSize", 100L);
+        ReflectionTestUtils.setField(securityVersionRegistry, "ttlSeconds", 60L);
+        securityVersionRegistry.init();
+        storedVersion = new AtomicInteger();
+        ReflectionTestUtils.setField(securityVersionRegistry, "source",
+                (SecurityVersionSource) userId -> userId == 1L ? storedVersion.get() : null);
+        jwtFailureStats = new JwtFailureStats();
+
+        jwtUtils = createJwtUtils(keyRing("k1", SECRET, ""));
+
+        userDetails = new UserDetailsImpl(1L, "user", "user@user.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+    }
+
+    JwtKeyRing keyRing(String keyId, String secret, String retiredKeys) {
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "jwtSecret", secret);
+        ReflectionTestUtils.setField(keyRing, "jwtKeyId", keyId);
+        ReflectionTestUtils.setField(keyRing, "jwtRetiredKeys", retiredKeys);
+        keyRing.init();
+        return keyRing;
+    }
+
+    JwtUtils createJwtUtils(JwtKeyRing keyRing) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", 60000);
+        ReflectionTestUtils.setField(utils, "jwtKeyRing", keyRing);
+        ReflectionTestUtils.setField(utils, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(utils, "securityVersionRegistry", securityVersionRegistry);
+        ReflectionTestUtils.setField(utils, "jwtFailureStats", jwtFailureStats);
+        return utils;
+    }
+
+    @Test
+    void parseAndVerify_CachesVerifiedToken_Test() {
+
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+
+        Claims first = jwtUtils.parseAndVerify(token);
+        Claims second = jwtUtils.parseAndVerify(token);
+
+        assertThat(first.getSubject()).isEqualTo("user");
+        assertThat(second).isSameAs(first);
+        assertThat(verifiedTokenCache.getMissCount()).isEqualTo(1);
+        assertThat(verifiedTokenCache.getHitCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    void parseAndVerify_RejectsTamperedToken_Test() {
+
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThat(jwtUtils.parseAndVerify(tampered)).isNull();
+        assertThat(jwtUtils.validateJwtToken("garbage")).isFalse();
+        assertThat(jwtUtils.validateJwtToken("")).isFalse();
+        assertThat(verifiedTokenCache.size()).isZero();
+        assertThat(jwtFailureStats.getCount(JwtFailureStats.Reason.SIGNATURE)).isEqualTo(1);
+        assertThat(jwtFailureStats.getCount(JwtFailureStats.Reason.MALFORMED)).isEqualTo(1);
+        assertThat(jwtFailureStats.getCount(JwtFailureStats.Reason.EMPTY)).isEqualTo(1);
+
+    }
+
+    @Test
+    void parseAndVerify_RejectsExpiredTokenBeforeVerification_Test() {
+
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", -1000);
+        String expired = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        // a broken signature proves the token is rejected before any HMAC check
+        String tampered = expired.substring(0, expired.length() - 2) + "xx";
+
+        assertThat(jwtUtils.parseAndVerify(tampered)).isNull();
+        assertThat(jwtFailureStats.getCount(JwtFailureStats.Reason.EXPIRED)).isEqualTo(1);
+        assertThat(jwtFailureStats.getCount(JwtFailureStats.Reason.SIGNATURE)).isZero();
+
+    }
+
+    @Test
+    void buildFromClaims_RespectsSecurityVersion_Test() {
+
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        Claims claims = jwtUtils.parseAndVerify(token);
+
+        UserDetailsImpl principal = UserDetailsImpl.build(claims);
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getEmail()).isEqualTo("user@user.com");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(jwtUtils.isSecurityVersionCurrent(claims)).isTrue();
+
+        // a change stored by another instance is seen once the cached version expires
+        storedVersion.set(1);
+        assertThat(jwtUtils.isSecurityVersionCurrent(claims)).isTrue();
+        securityVersionRegistry.invalidate(1L);
+        assertThat(jwtUtils.isSecurityVersionCurrent(claims)).isFalse();
+
+    }
+
+    @Test
+    void parseAndVerify_AcceptsRetiredKeyAfterRotation_Test() {
+
+        String oldToken = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+
+        JwtUtils rotated = createJwtUtils(keyRing("k2", NEXT_SECRET, "k1:" + SECRET));
+        JwtUtils withoutOldKey = createJwtUtils(keyRing("k2", NEXT_SECRET, ""));
+        verifiedTokenCache.invalidateAll();
+
+        assertThat(withoutOldKey.parseAndVerify(oldToken)).isNull();
+        assertThat(rotated.parseAndVerify(oldToken).getSubject()).isEqualTo("user");
+        assertThat(jwtUtils.parseAndVerify(rotated.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())))).isNull();
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package educationManagementSystem;
+
+import educationManagementSystem.security.throttle.LoginThrottle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link LoginThrottle}.
+ */
+class LoginThrottleTest {
+
+    LoginThrottle loginThrottle;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link LoginThrottle}.
+     */
+    @BeforeEach
+    void setUp() {
+
+        loginThrottle = new LoginThrottle();
+        loginThrottle.init();
+
+    }
+
+    @Test
+    void tryAcquire_RejectsWhenUsernameBucketIsEmpty_Test() {
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(loginThrottle.tryAcquire("student", "10.0.0." + i)).isZero();
+        }
+
+        assertThat(loginThrottle.tryAcquire("Student", "10.0.0.9")).isPositive();
+        assertThat(loginThrottle.tryAcquire("teacher", "10.0.0.9")).isZero();
+        assertThat(loginThrottle.getUsernameRejectCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    void onFailure_BacksOffProgressively_Test() {
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.onFailure("student", "10.0.0.1");
+        }
+        assertThat(loginThrottle.tryAcquire("student", "10.0.0.2")).isZero();
+
+        loginThrottle.onFailure("student", "10.0.0.1");
+        long first = loginThrottle.tryAcquire("student", "10.0.0.2");
+        loginThrottle.onFailure("student", "10.0.0.1");
+        long second = loginThrottle.tryAcquire("student", "10.0.0.2");
+
+        assertThat(first).isPositive();
+        assertThat(second).isGreaterThan(first);
+
+        loginThrottle.onSuccess("student", "10.0.0.2");
+        assertThat(loginThrottle.tryAcquire("student", "10.0.0.2")).isZero();
+
+    }
+
+    @Test
+    void tryAcquire_ManyUsersBehindOneAddress_Test() {
+
+        // a morning login peak through one campus NAT, with a typo every tenth login
+        for (int i = 0; i < 400; i++) {
+            String username = "student" + i;
+            assertThat(loginThrottle.tryAcquire(username, "192.0.2.1")).as("login %d", i).isZero();
+            if (i % 10 == 0) {
+                loginThrottle.onFailure(username, "192.0.2.1");
+                assertThat(loginThrottle.tryAcquire(username, "192.0.2.1")).as("retry %d", i).isZero();
+            }
+            loginThrottle.onSuccess(username, "192.0.2.1");
+        }
+        assertThat(loginThrottle.getAddressRejectCount()).isZero();
+
+        // failures against other accounts are not wiped by one successful login
+        for (int i = 0; i < 60; i++) {
+            loginThrottle.onFailure("victim" + i, "198.51.100.7");
+        }
+        loginThrottle.onSuccess("attacker", "198.51.100.7");
+        assertThat(loginThrottle.tryAcquire("victim0", "198.51.100.7")).isPositive();
+
+    }
+
+    @Test
+    void onFailure_ForgottenAfterWindow_Test() {
+
+        ReflectionTestUtils.setField(loginThrottle, "failureWindowMs", 50L);
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.onFailure("student", "10.0.0.1");
+        }
+        sleep(100);
+        loginThrottle.onFailure("student", "10.0.0.1");
+
+        assertThat(loginThrottle.tryAcquire("student", "10.0.0.1")).isZero();
+
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package educationManagementSystem;
+
+import educationManagementSystem.security.PasswordHashCalibrator;
+import educationManagementSystem.security.WebSecurityConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования {@link PasswordEncoder} из {@link WebSecurityConfig}.
+ */
+class PasswordHashingTest {
+
+    PasswordEncoder encoder;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link PasswordEncoder}.
+     */
+    @BeforeEach
+    void setUp() {
+
+        WebSecurityConfig config = new WebSecurityConfig();
+        ReflectionTestUtils.setField(config, "passwordStrength", 5);
+        ReflectionTestUtils.setField(config, "meterRegistry", new SimpleMeterRegistry());
+        encoder = config.passwordEncoder();
+
+    }
+
+    @Test
+    void legacyHash_MatchesAndNeedsUpgrade_Test() {
+
+        String legacy = new BCryptPasswordEncoder(4).encode("password");
+
+        assertThat(encoder.matches("password", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+
+    }
+
+    @Test
+    void currentHash_IsPrefixedAndUpToDate_Test() {
+
+        String encoded = encoder.encode("password");
+
+        assertThat(encoded).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("password", encoded)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+
+    }
+
+    @Test
+    void calibrate_StaysWithinBounds_Test() {
+
+        PasswordHashCalibrator.Result result = PasswordHashCalibrator.calibrate(0, 4, 6);
+
+        assertThat(result.getStrength()).isEqualTo(4);
+        assertThat(result.getMillisPerHash()).containsOnlyKeys(4);
+
+    }
+
+}
@@ -0,0 +1,144 @@
+package educationManagementSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import educationManagementSystem.controllers.TestController;
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.security.permission.Permission;
+import educationManagementSystem.security.permission.PermissionConfig;
+import educationManagementSystem.security.permission.PermissionRegistry;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс для тестирования public методов {@link PermissionRegistry}.
+ */
+@DataJpaTest
+@Import({PermissionRegistry.class, PermissionConfig.class})
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PermissionRegistryTest {
+
+    @Autowired
+    PermissionRegistry permissionRegistry;
+
+    @Autowired
+    Advisor permissionAdvisor;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Восстановление исходных прав ролей и очистка контекста безопасности.
+     */
+    @AfterEach
+    void tearDown() {
+
+        jdbcTemplate.update(
+                "DELETE FROM role_permissions WHERE role_name = 'ROLE_USER' AND permission = 'USER_LIST'");
+        permissionRegistry.reload();
+        SecurityContextHolder.clearContext();
+
+    }
+
+    @Test
+    void hasAny_SeededRoles_Test() {
+
+        UserDetailsImpl student = user(ERole.ROLE_USER);
+        UserDetailsImpl teacher = user(ERole.ROLE_TEACHER);
+        UserDetailsImpl both = user(ERole.ROLE_USER, ERole.ROLE_TEACHER);
+
+        assertThat(permissionRegistry.hasAny(student, Permission.DASHBOARD_VIEW.mask())).isTrue();
+        assertThat(permissionRegistry.hasAny(student, Permission.COURSE_MANAGE.mask())).isFalse();
+        assertThat(permissionRegistry.hasAny(teacher, Permission.DASHBOARD_VIEW.mask())).isFalse();
+        assertThat(permissionRegistry.hasAny(teacher,
+                Permission.mask(Permission.DASHBOARD_VIEW, Permission.GRADE_MANAGE))).isTrue();
+        assertThat(permissionRegistry.hasAny(both, Permission.DASHBOARD_VIEW.mask())).isTrue();
+        assertThat(permissionRegistry.hasAny(both, Permission.COURSE_MANAGE.mask())).isTrue();
+        assertThat(permissionRegistry.hasAny(user(), Permission.COURSE_VIEW.mask())).isFalse();
+        assertThat(permissionRegistry.permissions(user(ERole.ROLE_ADMIN).getRoleMask()))
+                .isEqualTo(Permission.mask(Permission.USER_BOARD_VIEW, Permission.ADMIN_BOARD_VIEW,
+                        Permission.COURSE_VIEW, Permission.COURSE_MANAGE, Permission.GRADE_MANAGE,
+                        Permission.USER_LIST, Permission.USER_EXPORT, Permission.USER_IMPORT,
+                        Permission.SESSION_REVOKE, Permission.PERMISSION_RELOAD, Permission.USER_MANAGE));
+
+    }
+
+    @Test
+    void reload_ChangedTable_Test() {
+
+        UserDetailsImpl student = user(ERole.ROLE_USER);
+        assertThat(permissionRegistry.reload()).isFalse();
+
+        jdbcTemplate.update("INSERT INTO role_permissions(role_name, permission) VALUES (?, ?)",
+                "ROLE_USER", "USER_LIST");
+        jdbcTemplate.update("INSERT INTO role_permissions(role_name, permission) VALUES (?, ?)",
+                "ROLE_GUEST", "NOT_A_PERMISSION");
+        try {
+            assertThat(permissionRegistry.reload()).isTrue();
+        } finally {
+            jdbcTemplate.update("DELETE FROM role_permissions WHERE role_name = 'ROLE_GUEST'");
+        }
+
+        // the principal is not rebuilt, the new mapping applies to it right away
+        assertThat(permissionRegistry.hasAny(student, Permission.USER_LIST.mask())).isTrue();
+        assertThat(permissionRegistry.hasAny(user(ERole.ROLE_TEACHER), Permission.USER_LIST.mask())).isFalse();
+
+    }
+
+    @Test
+    void requiresPermission_Controller_Test() {
+
+        ProxyFactory factory = new ProxyFactory(new TestController());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(permissionAdvisor);
+        TestController controller = (TestController) factory.getProxy();
+
+        assertThat(controller.allAccess()).isEqualTo("Public Content.");
+        assertThatThrownBy(controller::userAccess).isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+
+        authenticate(user(ERole.ROLE_USER, ERole.ROLE_ADMIN));
+        assertThat(controller.userAccess()).isEqualTo("User Content.");
+        assertThat(controller.adminAccess()).isEqualTo("Admin Board.");
+        assertThatThrownBy(controller::teacherAccess).isInstanceOf(AccessDeniedException.class);
+
+        authenticate(user(ERole.ROLE_TEACHER));
+        assertThat(controller.teacherAccess()).isEqualTo("Teacher Board.");
+        assertThatThrownBy(controller::adminAccess).isInstanceOf(AccessDeniedException.class);
+
+    }
+
+    private static UserDetailsImpl user(ERole... roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (ERole role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role.name()));
+        }
+        return new UserDetailsImpl(100L, "user100", "user100@school.edu", "secret", authorities);
+    }
+
+    private static void authenticate(UserDetailsImpl user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,141 @@
+package educationManagementSystem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import educationManagementSystem.model.RefreshToken;
+import educationManagementSystem.model.User;
+import educationManagementSystem.repository.RefreshTokenRepository;
+import educationManagementSystem.repository.UserRepository;
+import educationManagementSystem.security.services.CachedUserDetailsService;
+import educationManagementSystem.security.services.RefreshTokenService;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Класс для тестирования public методов {@link RefreshTokenService}.
+ */
+class RefreshTokenServiceTest {
+
+    RefreshTokenService refreshTokenService;
+    RefreshTokenRepository refreshTokenRepository;
+    Map<Long, RefreshToken> stored;
+    UserDetailsImpl userDetails;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link RefreshTokenService}
+     * поверх хранилища токенов в памяти.
+     */
+    @BeforeEach
+    void setUp() {
+
+        stored = new ConcurrentHashMap<>();
+        AtomicLong ids = new AtomicLong();
+
+        refreshTokenRepository = Mockito.mock(RefreshTokenRepository.class);
+        Mockito.when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId(ids.incrementAndGet());
+            stored.put(token.getId(), token);
+            return token;
+        });
+        Mockito.when(refreshTokenRepository.findByTokenHash(anyString())).thenAnswer(invocation ->
+                stored.values().stream()
+                        .filter(token -> token.getTokenHash().equals(invocation.getArgument(0)))
+                        .findFirst());
+        Mockito.when(refreshTokenRepository.markUsed(anyLong())).thenAnswer(invocation -> {
+            RefreshToken token = stored.get(invocation.<Long>getArgument(0));
+            if (token == null || token.isUsed()) {
+                return 0;
+            }
+            token.setUsed(true);
+            return 1;
+        });
+        Mockito.when(refreshTokenRepository.deleteByFamily(anyString())).thenAnswer(invocation -> {
+            stored.values().removeIf(token -> token.getFamily().equals(invocation.getArgument(0)));
+            return 0;
+        });
+
+        Mockito.when(refreshTokenRepository.deleteByUserId(anyLong())).thenAnswer(invocation -> {
+            stored.values().removeIf(token -> token.getUser().getId().equals(invocation.getArgument(0)));
+            return 0;
+        });
+
+        User user = new User("user", "user@user.com", "password");
+        user.setId(1L);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.getOne(1L)).thenReturn(user);
+
+        userDetails = new UserDetailsImpl(1L, "user", "user@user.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        CachedUserDetailsService userDetailsService = Mockito.mock(CachedUserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserByUsername("user")).thenReturn(userDetails);
+
+        refreshTokenService = new RefreshTokenService();
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenRepository", refreshTokenRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenSecret",
+                "tyX7fRrM+FB5em6NfVZ/iGGTJy/BhYme0STD2WhD5mBFjSOVXh8LAMT/JVHdL6bsqGk6BfkADr2ML2RfSdRsyQ==");
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpirationMs", 60000L);
+        ReflectionTestUtils.setField(refreshTokenService, "cacheSize", 100L);
+        refreshTokenService.init();
+
+    }
+
+    @Test
+    void rotate_IssuesNewTokenOfTheSameFamily_Test() {
+
+        String first = refreshTokenService.issue(userDetails);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertThat(rotation).isNotNull();
+        assertThat(rotation.getRefreshToken()).isNotEqualTo(first);
+        assertThat(rotation.getUser()).isSameAs(userDetails);
+        assertThat(stored.values()).extracting(RefreshToken::getFamily).containsOnly(stored.get(1L).getFamily());
+        assertThat(refreshTokenService.rotate("unknown")).isNull();
+
+    }
+
+    @Test
+    void rotate_ReuseRevokesWholeFamily_Test() {
+
+        String first = refreshTokenService.issue(userDetails);
+        String other = refreshTokenService.issue(userDetails);
+        String second = refreshTokenService.rotate(first).getRefreshToken();
+
+        assertThat(refreshTokenService.rotate(first)).isNull();
+        assertThat(refreshTokenService.rotate(second)).isNull();
+        assertThat(refreshTokenService.rotate(other)).isNotNull();
+        Mockito.verify(refreshTokenRepository).deleteByFamily(any());
+
+    }
+
+    @Test
+    void revokeAll_EvictsOnlyIndexedEntries_Test() {
+
+        String first = refreshTokenService.issue(userDetails);
+        String second = refreshTokenService.rotate(refreshTokenService.issue(userDetails)).getRefreshToken();
+
+        refreshTokenService.revokeAll(1L);
+
+        assertThat(refreshTokenService.rotate(first)).isNull();
+        assertThat(refreshTokenService.rotate(second)).isNull();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(refreshTokenService, "cachedByFamily")).isEmpty();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(refreshTokenService, "cachedFamiliesByUser")).isEmpty();
+
+    }
+
+}
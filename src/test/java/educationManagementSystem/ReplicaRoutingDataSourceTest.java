@@ -0,0 +1,124 @@
+package educationManagementSystem;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import educationManagementSystem.datasource.PrimaryReadTransactionTemplate;
+import educationManagementSystem.datasource.ReplicaRoutingDataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link ReplicaRoutingDataSource}
+ * на двух экземплярах H2: основном и реплике.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    ReplicaRoutingDataSource routingDataSource;
+    SwitchableDataSource replica;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readOnly;
+    TransactionTemplate readWrite;
+    TransactionTemplate primaryRead;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link ReplicaRoutingDataSource}.
+     */
+    @BeforeEach
+    void setUp() {
+
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Collections.singletonMap("replica-0", replica), 1);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        primaryRead = new PrimaryReadTransactionTemplate(transactionManager);
+
+    }
+
+    DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        template.execute("DELETE FROM node");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    String node(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void getConnection_RoutesReadOnlyTransactionsToReplica_Test() {
+
+        assertThat(node(readOnly)).isEqualTo("replica");
+        assertThat(node(readWrite)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+        assertThat(routingDataSource.getReplicaConnectionCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    void getConnection_KeepsPrimaryReadsOnPrimary_Test() {
+
+        assertThat(node(primaryRead)).isEqualTo("primary");
+        assertThat(primaryRead.<String>execute(status -> node(readOnly))).isEqualTo("primary");
+        assertThat(node(readOnly)).isEqualTo("replica");
+        assertThat(routingDataSource.getReplicaConnectionCount()).isEqualTo(1);
+        assertThat(routingDataSource.getFallbackCount()).isZero();
+
+    }
+
+    @Test
+    void getConnection_FallsBackToPrimaryUntilReplicaIsHealthy_Test() {
+
+        replica.down = true;
+        assertThat(node(readOnly)).isEqualTo("primary");
+        assertThat(routingDataSource.getHealthyReplicaCount()).isZero();
+        assertThat(routingDataSource.getFallbackCount()).isEqualTo(1);
+
+        replica.down = false;
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        routingDataSource.checkHealth();
+        assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(1);
+        assertThat(node(readOnly)).isEqualTo("replica");
+
+    }
+
+    static class SwitchableDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+
+}
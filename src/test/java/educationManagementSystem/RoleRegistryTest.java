@@ -0,0 +1,96 @@
+package educationManagementSystem;
+
+import javax.persistence.EntityManagerFactory;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.model.Role;
+import educationManagementSystem.repository.RoleRepository;
+import educationManagementSystem.services.RoleRegistry;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link RoleRegistry} и кэша второго уровня для {@link Role}.
+ */
+@DataJpaTest
+@Import(RoleRegistry.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.config.location=classpath:application-test.yml",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider="
+                + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class RoleRegistryTest {
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    /**
+     * Загрузка ролей из тестовых данных, которые пересоздаются SQL-скриптом в обход кэша Hibernate.
+     */
+    @BeforeEach
+    void setUp() {
+
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+    }
+
+    @Test
+    void get_ResolvesRolesWithoutQueries_Test() {
+
+        roleRegistry.load();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(roleRegistry.get(ERole.ROLE_ADMIN).getId()).isEqualTo(1);
+        assertThat(roleRegistry.get(ERole.ROLE_USER).getId()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    }
+
+    @Test
+    void findAll_IsAnsweredBySecondLevelCache_Test() {
+
+        roleRepository.findAll();
+        statistics.clear();
+
+        assertThat(roleRepository.findAll()).extracting(Role::getName)
+                .containsExactlyInAnyOrder(ERole.ROLE_ADMIN, ERole.ROLE_TEACHER, ERole.ROLE_USER);
+        assertThat(roleRepository.findById(2)).map(Role::getName).contains(ERole.ROLE_TEACHER);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("reference").getHitCount()).isEqualTo(4);
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package educationManagementSystem;
+
+import java.util.Collections;
+
+import educationManagementSystem.security.jwt.JwtFailureStats;
+import educationManagementSystem.security.jwt.JwtKeyRing;
+import educationManagementSystem.security.jwt.JwtUtils;
+import educationManagementSystem.security.jwt.TokenDenylist;
+import educationManagementSystem.security.jwt.VerifiedTokenCache;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import educationManagementSystem.security.services.UserDetailsImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link TokenDenylist}.
+ */
+class TokenDenylistTest {
+
+    TokenDenylist tokenDenylist;
+    JwtUtils jwtUtils;
+
+    /**
+     * Инициализация экземпляров тестируемого класса {@link TokenDenylist}.
+     */
+    @BeforeEach
+    void setUp() {
+
+        tokenDenylist = new TokenDenylist();
+        ReflectionTestUtils.setField(tokenDenylist, "windowMs", 60000L);
+        ReflectionTestUtils.setField(tokenDenylist, "expectedEntries", 1000L);
+        ReflectionTestUtils.setField(tokenDenylist, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(tokenDenylist, "maxEntries", 1000L);
+        tokenDenylist.init();
+
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "jwtSecret", JwtUtilsTest.SECRET);
+        ReflectionTestUtils.setField(keyRing, "jwtKeyId", "k1");
+        ReflectionTestUtils.setField(keyRing, "jwtRetiredKeys", "");
+        keyRing.init();
+
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maximumSize", 100L);
+        verifiedTokenCache.init();
+
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtKeyRing", keyRing);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(jwtUtils, "securityVersionRegistry", new SecurityVersionRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtFailureStats", new JwtFailureStats());
+
+    }
+
+    Claims issue(long userId) {
+        UserDetailsImpl user = new UserDetailsImpl(userId, "user" + userId, "user" + userId + "@user.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        return jwtUtils.parseAndVerify(jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+    }
+
+    @Test
+    void revokeToken_RevokesOnlyThatToken_Test() {
+
+        Claims revoked = issue(1L);
+        Claims active = issue(1L);
+
+        assertThat(revoked.getId()).isNotEqualTo(active.getId());
+        tokenDenylist.revokeToken(revoked.getId(), revoked.getExpiration());
+
+        assertThat(tokenDenylist.isRevoked(revoked)).isTrue();
+        assertThat(tokenDenylist.isRevoked(active)).isFalse();
+        assertThat(tokenDenylist.getRevokedTokenCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    void revokeUser_RevokesEveryIssuedTokenOfThatUser_Test() {
+
+        Claims first = issue(1L);
+        Claims second = issue(1L);
+        Claims otherUser = issue(2L);
+
+        tokenDenylist.revokeUser(1L);
+
+        assertThat(tokenDenylist.isRevoked(first)).isTrue();
+        assertThat(tokenDenylist.isRevoked(second)).isTrue();
+        assertThat(tokenDenylist.isRevoked(otherUser)).isFalse();
+
+    }
+
+}
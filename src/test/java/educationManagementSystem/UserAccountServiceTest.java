@@ -0,0 +1,98 @@
+package educationManagementSystem;
+
+import java.util.EnumSet;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.security.services.SecurityVersionRegistry;
+import educationManagementSystem.security.services.UserDetailsImpl;
+import educationManagementSystem.security.services.UserDetailsServiceImpl;
+import educationManagementSystem.services.RoleRegistry;
+import educationManagementSystem.services.UserAccountService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link UserAccountService}.
+ */
+@DataJpaTest
+@Import({UserAccountService.class, RoleRegistry.class, UserDetailsServiceImpl.class, SecurityVersionRegistry.class,
+        UserAccountServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.config.location=classpath:application-test.yml")
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class UserAccountServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    UserAccountService userAccountService;
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    SecurityVersionRegistry securityVersionRegistry;
+
+    /**
+     * Загрузка ролей из тестовых данных.
+     */
+    @BeforeEach
+    void setUp() {
+
+        roleRegistry.load();
+
+    }
+
+    @Test
+    void changeRoles_OutdatesIssuedTokens_Test() {
+
+        UserDetailsImpl before = userDetailsService.loadPrincipal("teacher");
+        assertThat(securityVersionRegistry.isCurrent(2L, before.getSecurityVersion())).isTrue();
+
+        assertThat(userAccountService.changeRoles(2L, EnumSet.of(ERole.ROLE_TEACHER))).isTrue();
+
+        UserDetailsImpl after = userDetailsService.loadPrincipal("teacher");
+        assertThat(after.getAuthorities()).extracting("authority").containsExactly("ROLE_TEACHER");
+        assertThat(after.getSecurityVersion()).isEqualTo(before.getSecurityVersion() + 1);
+        assertThat(securityVersionRegistry.isCurrent(2L, before.getSecurityVersion())).isFalse();
+        assertThat(securityVersionRegistry.isCurrent(2L, after.getSecurityVersion())).isTrue();
+        assertThat(userAccountService.changeRoles(42L, EnumSet.of(ERole.ROLE_USER))).isFalse();
+
+    }
+
+    @Test
+    void delete_RemovesUser_Test() {
+
+        assertThat(userAccountService.delete(3L)).isTrue();
+
+        assertThat(userDetailsService.loadSecurityVersion(3L)).isNull();
+        assertThat(securityVersionRegistry.isCurrent(3L, 0)).isFalse();
+        assertThat(userAccountService.delete(3L)).isFalse();
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package educationManagementSystem;
+
+import javax.persistence.EntityManagerFactory;
+
+import educationManagementSystem.security.services.UserDetailsImpl;
+import educationManagementSystem.security.services.UserDetailsServiceImpl;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс для тестирования public методов {@link UserDetailsServiceImpl}.
+ */
+@DataJpaTest
+@Import(UserDetailsServiceImpl.class)
+@TestPropertySource(properties = {
+        "spring.config.location=classpath:application-test.yml",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class UserDetailsServiceImplTest {
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Statistics statistics;
+
+    /**
+     * Инициализация ролей пользователя admin и счётчика запросов Hibernate.
+     */
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("INSERT INTO user_roles(user_id, role_id) VALUES (1, 1), (1, 3)");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+    }
+
+    @Test
+    void loadUserByUsername_LoadsPrincipalInOneQuery_Test() {
+
+        UserDetailsImpl admin = (UserDetailsImpl) userDetailsService.loadUserByUsername("admin");
+
+        assertThat(admin.getId()).isEqualTo(1L);
+        assertThat(admin.getEmail()).isEqualTo("admin@admin.com");
+        assertThat(admin.getPassword()).startsWith("$2a$10$");
+        assertThat(admin.getAuthorities()).extracting("authority")
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        UserDetailsImpl user = (UserDetailsImpl) userDetailsService.loadUserByUsername("user");
+        assertThat(user.getAuthorities()).isEmpty();
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("nobody"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+    }
+
+}
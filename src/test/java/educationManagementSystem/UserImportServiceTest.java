@@ -0,0 +1,180 @@
+package educationManagementSystem;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import educationManagementSystem.payload.responce.UserImportJobResponse;
+import educationManagementSystem.payload.responce.UserImportResponse;
+import educationManagementSystem.payload.responce.UserImportRowResponse;
+import educationManagementSystem.services.RoleRegistry;
+import educationManagementSystem.services.UserImportService;
+import educationManagementSystem.services.UserListingService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс для тестирования public методов {@link UserImportService}.
+ */
+@DataJpaTest
+@Import({UserImportService.class, RoleRegistry.class, UserImportServiceTest.PasswordEncoderConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml",
+        "habatoo.app.import.batchSize=2" })
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class UserImportServiceTest {
+
+    @Autowired
+    UserImportService userImportService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder encoder;
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    /**
+     * Перезагрузка ролей: SQL-скрипт пересоздаёт их с другими id, чем миграция.
+     */
+    @BeforeEach
+    void setUp() {
+
+        roleRegistry.load();
+
+    }
+
+    @Test
+    void importUsers_Csv_Test() throws IOException {
+
+        UserImportResponse response = userImportService.importUsers(UserListingService.Format.CSV, body(
+                "username,email,password,role\n"
+                        + "alice,alice@school.edu,secret1,\n"
+                        + "bob,bob@school.edu,secret2,teacher;admin\n"
+                        + "\n"
+                        + "Admin,other@school.edu,secret3,\n"
+                        + "carol,USER@user.com,secret4,\n"
+                        + "alice,alice2@school.edu,secret5,\n"
+                        + "dave,not-an-email,secret6,\n"
+                        + "\"eve\",eve@school.edu\n"
+                        + "\"frank\",\"frank@school.edu\",\"secret,7\",user\n"));
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getRejected()).isEqualTo(5);
+        assertThat(response.getRows()).extracting(UserImportRowResponse::getLine)
+                .containsExactly(2, 3, 5, 6, 7, 8, 9, 10);
+        assertThat(response.getRows()).extracting(UserImportRowResponse::getMessage).containsExactly(
+                null,
+                null,
+                "Error: Username is already taken!",
+                "Error: Email is already in use!",
+                "Error: Username is repeated in the import.",
+                "Error: email must be a well-formed email address.",
+                "Error: Row does not match the CSV header.",
+                null);
+
+        assertThat(jdbcTemplate.queryForList("SELECT r.name FROM users u JOIN user_roles ur ON ur.user_id = u.id "
+                + "JOIN roles r ON r.id = ur.role_id WHERE u.username = 'bob' ORDER BY r.name", String.class))
+                .containsExactly("ROLE_ADMIN", "ROLE_TEACHER");
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'frank'", String.class);
+        assertThat(encoder.matches("secret,7", hash)).isTrue();
+
+    }
+
+    @Test
+    void importUsers_Ndjson_Test() throws IOException {
+
+        UserImportResponse response = userImportService.importUsers(UserListingService.Format.NDJSON, body(
+                "{\"username\":\"grace\",\"email\":\"grace@school.edu\",\"password\":\"secret8\"}\n"
+                        + "{\"username\":\"heidi\"\n"));
+
+        assertThat(response.getRows()).extracting(UserImportRowResponse::getStatus).containsExactly(
+                UserImportRowResponse.Status.IMPORTED, UserImportRowResponse.Status.REJECTED);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users u JOIN user_roles ur ON ur.user_id = u.id "
+                + "WHERE u.username = 'grace'", Integer.class)).isEqualTo(1);
+
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void submit_ImportsInBackground_Test() throws Exception {
+
+        UserImportJobResponse job = userImportService.submit(UserListingService.Format.NDJSON, body(
+                "{\"username\":\"ivan\",\"email\":\"ivan@school.edu\",\"password\":\"secret9\"}\n"
+                        + "{\"username\":\"judy\",\"email\":\"judy@school.edu\",\"password\":\"secret10\"}\n"
+                        + "{\"username\":\"ivan\",\"email\":\"ivan2@school.edu\",\"password\":\"secret11\"}\n"));
+
+        UserImportJobResponse done = awaitFinished(job.getId());
+        assertThat(done.getStatus()).isEqualTo(UserImportJobResponse.Status.DONE);
+        assertThat(done.getProcessed()).isEqualTo(3);
+        assertThat(done.getResult().getImported()).isEqualTo(2);
+        assertThat(done.getResult().getRows()).extracting(UserImportRowResponse::getMessage)
+                .containsExactly(null, null, "Error: Username is repeated in the import.");
+        assertThat(userImportService.job("unknown")).isNull();
+
+        assertThatThrownBy(() -> userImportService.submit(UserListingService.Format.CSV, body("name,email\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+        ReflectionTestUtils.setField(userImportService, "maxRows", 1);
+        try {
+            assertThatThrownBy(() -> userImportService.submit(UserListingService.Format.CSV, body(
+                    "username,email,password\n"
+                            + "kate,kate@school.edu,secret12\n"
+                            + "leo,leo@school.edu,secret13\n")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            ReflectionTestUtils.setField(userImportService, "maxRows", 20000);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username IN ('kate', 'leo')",
+                Integer.class)).isZero();
+
+    }
+
+    private UserImportJobResponse awaitFinished(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        UserImportJobResponse job = userImportService.job(id);
+        while ((job.getStatus() == UserImportJobResponse.Status.QUEUED
+                || job.getStatus() == UserImportJobResponse.Status.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = userImportService.job(id);
+        }
+        return job;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,91 @@
+package educationManagementSystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import educationManagementSystem.model.ERole;
+import educationManagementSystem.payload.responce.UserPageResponse;
+import educationManagementSystem.payload.responce.UserSummaryResponse;
+import educationManagementSystem.services.UserListingService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования public методов {@link UserListingService}.
+ */
+@DataJpaTest
+@Import(UserListingService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+@Sql(value = {"/create-user-before.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/create-user-after.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class UserListingServiceTest {
+
+    @Autowired
+    UserListingService userListingService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Инициализация ролей пользователей admin, teacher и user и ещё одного студента.
+     */
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("INSERT INTO users(id, username, email, password) VALUES (10, 'student', "
+                + "'student@student.com', 'password')");
+        jdbcTemplate.update("INSERT INTO user_roles(user_id, role_id) VALUES (1, 1), (1, 3), (2, 2), (3, 3), (10, 3)");
+
+    }
+
+    @Test
+    void page_SeeksOnIdAndFiltersByRole_Test() {
+
+        UserPageResponse first = userListingService.page(0, 2, null);
+        assertThat(first.getUsers()).extracting(UserSummaryResponse::getUsername).containsExactly("admin", "teacher");
+        assertThat(first.getUsers().get(0).getRoles()).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(first.getNextAfterId()).isEqualTo(2L);
+
+        UserPageResponse last = userListingService.page(first.getNextAfterId(), 2, null);
+        assertThat(last.getUsers()).extracting(UserSummaryResponse::getId).containsExactly(3L, 10L);
+        assertThat(last.getNextAfterId()).isNull();
+
+        UserPageResponse students = userListingService.page(1, 10, ERole.ROLE_USER);
+        assertThat(students.getUsers()).extracting(UserSummaryResponse::getUsername).containsExactly("user", "student");
+
+    }
+
+    @Test
+    void export_WritesOneLinePerUser_Test() throws IOException {
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        userListingService.export(UserListingService.Format.CSV, null, csv);
+        assertThat(csv.toString(StandardCharsets.UTF_8.name()).split("\n")).containsExactly(
+                "id,username,email,roles",
+                "1,admin,admin@admin.com,ROLE_ADMIN;ROLE_USER",
+                "2,teacher,teacher@teacher.com,ROLE_TEACHER",
+                "3,user,user@user.com,ROLE_USER",
+                "10,student,student@student.com,ROLE_USER");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        userListingService.export(UserListingService.Format.NDJSON, ERole.ROLE_ADMIN, ndjson);
+        assertThat(ndjson.toString(StandardCharsets.UTF_8.name())).isEqualTo(
+                "{\"id\":1,\"username\":\"admin\",\"email\":\"admin@admin.com\","
+                        + "\"roles\":[\"ROLE_ADMIN\",\"ROLE_USER\"]}\n");
+
+    }
+
+}
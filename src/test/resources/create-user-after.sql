@@ -1,3 +1,9 @@
+DELETE FROM grade_stats_student;
+DELETE FROM grade_stats_section;
+DELETE FROM grades;
+DELETE FROM enrollments;
+DELETE FROM sections;
+DELETE FROM courses;
 DELETE FROM user_roles;
 DELETE FROM roles;
 DELETE FROM users;
\ No newline at end of file